@@ -0,0 +1,37 @@
+package com.delivery_tracker_app.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory columnar copy of transport logs behind the analytics endpoint,
+ * bound from {@code app.analytics.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.analytics")
+@Getter @Setter
+public class AnalyticsProperties {
+
+    // Each instance holds about 120 bytes per log; turn off where the heap cannot afford it
+    private boolean enabled = true;
+
+    // How often the copy is re-read from the table to pick up writes from other instances
+    private Duration reloadInterval = Duration.ofHours(6);
+
+    // Rows fetched per round trip while loading
+    private int fetchSize = 10_000;
+
+    // Queries producing more groups are rejected instead of building a huge response
+    private int maxGroups = 10_000;
+
+    // Local file the copy is saved to and reopened from at startup, so that a restart only reads the
+    // logs changed since it was written; blank keeps the copy in memory only
+    private String snapshotFile = "";
+
+    // How often the snapshot is rewritten, skipped when the copy has not changed
+    private Duration snapshotInterval = Duration.ofMinutes(15);
+}
@@ -0,0 +1,41 @@
+package com.delivery_tracker_app.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Period;
+
+/**
+ * Settings for moving old transport logs to the archive table, bound from {@code app.archive.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+@Getter @Setter
+public class ArchiveProperties {
+
+    // Off by default: archived logs no longer show up in the transport log endpoints
+    private boolean enabled = false;
+
+    // Logs loaded longer ago than this, counted from the start of the current month, are archived
+    private Period horizon = Period.ofYears(2);
+
+    // Rows moved per transaction, so locks and WAL stay small
+    private int batchSize = 1000;
+
+    // Upper bound per run; whatever is left is picked up by the next run
+    private int maxBatchesPerRun = 500;
+
+    // When the archiver runs, Spring cron syntax
+    private String cron = "0 30 2 * * *";
+
+    // transport_log was converted with db/postgres/transport_log_partitioning.sql; PostgreSQL only
+    private boolean partitioned = false;
+
+    // Monthly partitions kept created ahead of the current month
+    private int partitionsAhead = 3;
+
+    // When the coming partitions are created, Spring cron syntax; runs even with archiving disabled
+    private String partitionsCron = "0 0 2 * * *";
+}
@@ -0,0 +1,20 @@
+package com.delivery_tracker_app.app.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Spring Cache setup for response DTOs. The caches themselves are declared under {@code spring.cache}.
+ * <p>
+ * The caching advice runs outside the transaction advice, so evictions and puts on a transactional
+ * write happen after it commits and a concurrent read cannot re-cache the old row in between.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String CLIENTS = "clients";
+    public static final String DRIVERS = "drivers";
+    public static final String TRANSPORT_LOGS = "transportLogs";
+}
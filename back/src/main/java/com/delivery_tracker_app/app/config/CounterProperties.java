@@ -0,0 +1,23 @@
+package com.delivery_tracker_app.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory row counters, bound from {@code app.counters.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.counters")
+@Getter @Setter
+public class CounterProperties {
+
+    // How often the counters are re-read from the database to absorb writes that bypassed the services
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    // Read row estimates from pg_class.reltuples (summed over partitions) instead of running COUNT(*); PostgreSQL only
+    private boolean plannerStatistics = false;
+}
@@ -0,0 +1,93 @@
+package com.delivery_tracker_app.app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and replica connection pools behind a {@link ReadWriteRoutingDataSource}, active when
+ * {@code app.datasource.replica.url} is set; otherwise Boot's single datasource is used as before.
+ * <p>
+ * Both pools are beans of their own, so the actuator publishes the {@code hikaricp.*} metrics of
+ * each, tagged {@code pool=primary} and {@code pool=replica}.
+ * <p>
+ * Read-only transactions stop filling Hibernate's caches, see {@link ReplicaReadJpaDialect}; service
+ * methods filling Spring caches run in read-write transactions for the same reason.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties replicaProperties,
+                                              DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername())
+                .password(replicaProperties.getPassword())
+                .driverClassName(replicaProperties.getDriverClassName() != null
+                        ? replicaProperties.getDriverClassName() : dataSourceProperties.determineDriverClassName())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Fail fast so a replica outage costs one short wait before falling back, not a request timeout
+        dataSource.setConnectionTimeout(2000);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaDataSourceProperties replicaProperties,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Counter fallbacks = Counter.builder("app.datasource.replica.fallbacks")
+                .description("Replica connection attempts that failed and fell back to the primary")
+                .register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaProperties.getRetryAfter(), fallbacks);
+        routing.afterPropertiesSet();
+        // Defers the physical connection until the first statement, after the transaction has
+        // declared itself read-only
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Once initialized: initialization takes the dialect of the entity manager factory
+    @Bean
+    public static BeanPostProcessor replicaReadJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JpaTransactionManager transactionManager) {
+                    transactionManager.setJpaDialect(new ReplicaReadJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+}
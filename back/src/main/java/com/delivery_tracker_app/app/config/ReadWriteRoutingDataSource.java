@@ -0,0 +1,83 @@
+package com.delivery_tracker_app.app.config;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}. When the replica
+ * cannot hand out a connection, reads go to the primary until {@code retryAfter} has passed.
+ * <p>
+ * Spring Data repository reads are read-only transactions of their own, so a repository call made
+ * outside a service transaction is served by the replica too; services that read before writing
+ * run in a read-write transaction to keep those reads on the primary.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration retryAfter;
+    private final Counter fallbacks;
+
+    private volatile long replicaDownUntil;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration retryAfter, Counter fallbacks) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryAfter = retryAfter;
+        this.fallbacks = fallbacks;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && System.currentTimeMillis() >= replicaDownUntil ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == replica) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaFailed(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == replica) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                replicaFailed(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private void replicaFailed(SQLException e) {
+        replicaDownUntil = System.currentTimeMillis() + retryAfter.toMillis();
+        fallbacks.increment();
+        log.warn("Read replica unavailable, reading from the primary for {}: {}", retryAfter, e.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package com.delivery_tracker_app.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Read replica for read-only transactions, bound from {@code app.datasource.replica.*}; routing is
+ * enabled only when a url is set. Pool settings go under {@code app.datasource.replica.hikari}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replica")
+@Getter @Setter
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    private String username;
+    private String password;
+
+    // Defaults to the driver of the primary datasource
+    private String driverClassName;
+
+    // After a failed connection attempt, read-only transactions use the primary for this long
+    private Duration retryAfter = Duration.ofSeconds(30);
+}
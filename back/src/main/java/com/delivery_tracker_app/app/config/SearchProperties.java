@@ -0,0 +1,26 @@
+package com.delivery_tracker_app.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for free-text search over transport logs, bound from {@code app.search.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.search")
+@Getter @Setter
+public class SearchProperties {
+
+    // "memory" keeps a trigram index in the JVM; "postgres" queries pg_trgm GIN indexes instead
+    private String backend = "memory";
+
+    // Share of the query's trigrams a log must contain to be returned, between 0 and 1
+    private double minSimilarity = 0.4;
+
+    // How often the memory backend and the location suggestions re-read the table to pick up writes from other instances
+    private Duration reloadInterval = Duration.ofMinutes(30);
+}
@@ -0,0 +1,27 @@
+package com.delivery_tracker_app.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and time-to-live of each Hibernate second-level cache region, bound from {@code app.l2-cache.*}.
+ * Registered by {@link SecondLevelCacheConfig} so JPA slice tests can import both together.
+ */
+@ConfigurationProperties(prefix = "app.l2-cache")
+@Getter @Setter
+public class SecondLevelCacheProperties {
+
+    // Keyed by region name, as used in @Cache(region = ...) and the query cache region hints
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter @Setter
+    public static class Region {
+        private long maxSize = 1000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,27 @@
+package com.delivery_tracker_app.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning knobs for transport log bulk operations, bound from {@code app.transport-log.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.transport-log")
+@Getter @Setter
+public class TransportLogProperties {
+
+    // Number of rows flushed per JDBC batch; keep in line with hibernate.jdbc.batch_size
+    private int batchSize = 50;
+
+    // Upper bound on the number of items accepted by one batch create request
+    private int maxBatchItems = 1000;
+
+    // Rows committed per transaction by the CSV import; a failure only rolls back the current chunk
+    private int importChunkSize = 1000;
+
+    // Rejected rows reported back in detail by an import job
+    private int importMaxReportedErrors = 100;
+}
@@ -0,0 +1,45 @@
+package com.delivery_tracker_app.app.controller.v1;
+
+import com.delivery_tracker_app.app.config.ApiPaths;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsQuery;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsResult;
+import com.delivery_tracker_app.app.dto.v1.common.BaseResponse;
+import com.delivery_tracker_app.app.exception.ErrorResponse;
+import com.delivery_tracker_app.app.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Validated
+@AllArgsConstructor
+@RequestMapping(ApiPaths.BASE+ApiPaths.V1+"/analytics")
+@Tag(name = "Analytics", description = "Ad-hoc aggregates over transport logs, served from memory")
+@SecurityRequirement(name = "BearerAuth")
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/transport-logs")
+    @Operation(summary = "Aggregate transport logs",
+               description = "Groups transport logs by any combination of client, driver, operator, commercial and load month, and returns the trip count and the requested sums per group. Filters are optional and combined with AND. Served from an in-memory copy kept current with this instance's writes.")
+    @ApiResponse(responseCode = "200", description = "Aggregates computed",
+                 content = @Content(schema = @Schema(implementation = AnalyticsResult.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid filters, repeated dimensions or too many groups",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "503", description = "Analytics are loading or disabled on this instance",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<AnalyticsResult>> aggregate(@ParameterObject AnalyticsQuery query){
+        AnalyticsResult res = analyticsService.query(query);
+        return ResponseEntity.ok(BaseResponse.ok("Aggregates computed successfully", res));
+    }
+}
@@ -3,18 +3,26 @@ package com.delivery_tracker_app.app.controller.v1;
 import com.delivery_tracker_app.app.dto.v1.client.ClientResponse;
 import com.delivery_tracker_app.app.dto.v1.client.CreateClientRequest;
 import com.delivery_tracker_app.app.dto.v1.client.UpdateClientRequest;
+import com.delivery_tracker_app.app.dto.v1.common.ETags;
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.service.ClientService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.List;
 
 // Import Swagger/OpenAPI annotations
 import io.swagger.v3.oas.annotations.Operation;
@@ -59,27 +67,57 @@ public class ClientController {
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Client not found",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
-    public ResponseEntity<BaseResponse<ClientResponse>> update(@Valid @RequestBody UpdateClientRequest request){
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<ClientResponse>> update(
+            @Valid @RequestBody UpdateClientRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag from a previous read; the update is rejected with 412 if the client changed since") String ifMatch){
+        if (ifMatch != null) {
+            request = request.withVersion(ETags.expectedVersion(ifMatch));
+        }
         ClientResponse res = clientService.update(request);
-        return ResponseEntity.ok(BaseResponse.ok("Client updated successfully", res));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(res.version()))
+                .body(BaseResponse.ok("Client updated successfully", res));
     }
 
     @GetMapping
     @Operation(summary = "Get all clients with pagination", description = "Retrieves a paginated list of all client records.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of clients",
-            content = @Content(schema = @Schema(implementation = PagedResponse.class)))
+            content = @Content(schema = @Schema(oneOf = {PagedResponse.class, SliceResponse.class})))
     @ApiResponse(responseCode = "400", description = "Invalid pagination parameters",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
-    public ResponseEntity<BaseResponse<PagedResponse<ClientResponse>>> getAll(
+    public ResponseEntity<BaseResponse<?>> getAll(
             @RequestParam(defaultValue = "0")
             @Parameter(description = "Page number (0-indexed)", example = "0") int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(100)
-            @Parameter(description = "Number of items per page (1-100)", example = "10") int size
+            @Parameter(description = "Number of items per page (1-100)", example = "10") int size,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Include totalElements/totalPages; false returns a slice with hasNext only and skips the count query", example = "true") boolean count
     ){
+        if (!count) {
+            SliceResponse<ClientResponse> res = clientService.getSlice(page, size);
+            return ResponseEntity.ok(BaseResponse.ok("Clients retrieved successfully", res));
+        }
         PagedResponse<ClientResponse> res = clientService.getAll(page, size);
         return ResponseEntity.ok(BaseResponse.ok("Clients retrieved successfully", res));
     }
 
+    @GetMapping("/lookup")
+    @Operation(summary = "Get all clients as id/label pairs",
+               description = "Returns a compact list of every client for pickers. The response carries an ETag; send it back in If-None-Match to get 304 Not Modified while the list is unchanged.")
+    @ApiResponse(responseCode = "200", description = "Clients lookup retrieved")
+    @ApiResponse(responseCode = "304", description = "Lookup unchanged since the ETag sent in If-None-Match")
+    public ResponseEntity<BaseResponse<List<LookupItem>>> getLookup(){
+        LookupSnapshot snapshot = clientService.getLookup();
+        // ResponseEntity with an ETag is answered with 304 by Spring when If-None-Match matches
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(BaseResponse.ok("Clients lookup retrieved successfully", snapshot.items()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get client by ID", description = "Retrieves the details of a single client by their unique identifier.")
     @ApiResponse(responseCode = "200", description = "Client found and returned",
@@ -88,12 +126,21 @@ public class ClientController {
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Client not found",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match")
     public ResponseEntity<BaseResponse<ClientResponse>> getById(
             @PathVariable
-            @Parameter(description = "ID of the client to retrieve", example = "1") @Min(1) Long id){
+            @Parameter(description = "ID of the client to retrieve", example = "1") @Min(1) Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            String current = clientService.getETag(id);
+            if (ETags.matches(ifNoneMatch, current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
         ClientResponse res = clientService.getById(id);
-        return ResponseEntity.ok(BaseResponse.ok("Client retrieved successfully", res));
-
+        return ResponseEntity.ok()
+                .eTag(ETags.of(res.version()))
+                .body(BaseResponse.ok("Client retrieved successfully", res));
     }
 
     @DeleteMapping("/{id}")
@@ -109,4 +156,4 @@ public class ClientController {
         clientService.delete(id);
         return ResponseEntity.ok(BaseResponse.ok("Client deleted successfully", null));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.delivery_tracker_app.app.controller.v1;
+
+import com.delivery_tracker_app.app.config.ApiPaths;
+import com.delivery_tracker_app.app.dto.v1.common.BaseResponse;
+import com.delivery_tracker_app.app.dto.v1.dashboard.DashboardSummary;
+import com.delivery_tracker_app.app.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Validated
+@AllArgsConstructor
+@RequestMapping(ApiPaths.BASE+ApiPaths.V1+"/dashboard")
+@Tag(name = "Dashboard", description = "Overview figures for the dashboard")
+@SecurityRequirement(name = "BearerAuth")
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get the dashboard summary",
+               description = "Returns entity totals, the current month's headline figures and the latest transport logs in one response.")
+    @ApiResponse(responseCode = "200", description = "Summary retrieved",
+                 content = @Content(schema = @Schema(implementation = DashboardSummary.class)))
+    public ResponseEntity<BaseResponse<DashboardSummary>> getSummary(
+            @RequestParam(defaultValue = "5") @Min(1) @Max(30)
+            @Parameter(description = "Number of latest transport logs to include", example = "5") int latest
+    ){
+        DashboardSummary res = dashboardService.getSummary(latest);
+        return ResponseEntity.ok(BaseResponse.ok("Dashboard summary retrieved successfully", res));
+    }
+}
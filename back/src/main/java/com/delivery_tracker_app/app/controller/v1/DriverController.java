@@ -2,7 +2,11 @@ package com.delivery_tracker_app.app.controller.v1;
 
 import com.delivery_tracker_app.app.config.ApiPaths;
 import com.delivery_tracker_app.app.dto.v1.common.BaseResponse;
+import com.delivery_tracker_app.app.dto.v1.common.ETags;
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.CreateDriverRequest;
 import com.delivery_tracker_app.app.dto.v1.driver.DriverResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.UpdateDriverRequest;
@@ -13,11 +17,15 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.List;
 
 // Import Swagger/OpenAPI annotations
 import io.swagger.v3.oas.annotations.Operation;
@@ -58,27 +66,57 @@ public class DriverController {
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Driver not found", // From ResourceNotFoundException
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
-    public ResponseEntity<BaseResponse<DriverResponse>> update(@Valid @RequestBody UpdateDriverRequest request){
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<DriverResponse>> update(
+            @Valid @RequestBody UpdateDriverRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag from a previous read; the update is rejected with 412 if the driver changed since") String ifMatch){
+        if (ifMatch != null) {
+            request = request.withVersion(ETags.expectedVersion(ifMatch));
+        }
         DriverResponse res = driverService.update(request);
-        return ResponseEntity.ok(BaseResponse.ok("Driver updated successfully", res));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(res.version()))
+                .body(BaseResponse.ok("Driver updated successfully", res));
     }
 
     @GetMapping
     @Operation(summary = "Get all drivers with pagination", description = "Retrieves a paginated list of all drivers.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of drivers",
-                 content = @Content(schema = @Schema(implementation = PagedResponse.class))) // Document PagedResponse for success
+                 content = @Content(schema = @Schema(oneOf = {PagedResponse.class, SliceResponse.class}))) // Document both list shapes for success
     @ApiResponse(responseCode = "400", description = "Invalid pagination parameters",
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
-    public ResponseEntity<BaseResponse<PagedResponse<DriverResponse>>> getAll(
+    public ResponseEntity<BaseResponse<?>> getAll(
             @RequestParam(defaultValue = "0")
             @Parameter(description = "Page number (0-indexed)", example = "0") int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(100)
-            @Parameter(description = "Number of items per page (1-100)", example = "10") int size
+            @Parameter(description = "Number of items per page (1-100)", example = "10") int size,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Include totalElements/totalPages; false returns a slice with hasNext only and skips the count query", example = "true") boolean count
     ){
+        if (!count) {
+            SliceResponse<DriverResponse> res = driverService.getSlice(page, size);
+            return ResponseEntity.ok(BaseResponse.ok("Drivers retrieved successfully", res));
+        }
         PagedResponse<DriverResponse> res = driverService.getAll(page, size);
         return ResponseEntity.ok(BaseResponse.ok("Drivers retrieved successfully", res));
     }
 
+    @GetMapping("/lookup")
+    @Operation(summary = "Get all drivers as id/label pairs",
+               description = "Returns a compact list of every driver for pickers. The response carries an ETag; send it back in If-None-Match to get 304 Not Modified while the list is unchanged.")
+    @ApiResponse(responseCode = "200", description = "Drivers lookup retrieved")
+    @ApiResponse(responseCode = "304", description = "Lookup unchanged since the ETag sent in If-None-Match")
+    public ResponseEntity<BaseResponse<List<LookupItem>>> getLookup(){
+        LookupSnapshot snapshot = driverService.getLookup();
+        // ResponseEntity with an ETag is answered with 304 by Spring when If-None-Match matches
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(BaseResponse.ok("Drivers lookup retrieved successfully", snapshot.items()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get driver by ID", description = "Retrieves details of a single driver by their unique ID.")
     @ApiResponse(responseCode = "200", description = "Driver found and returned",
@@ -87,11 +125,21 @@ public class DriverController {
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Driver not found", // From IllegalArgumentException in service
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match")
     public ResponseEntity<BaseResponse<DriverResponse>> getById(
             @PathVariable
-            @Parameter(description = "ID of the driver to retrieve", example = "1") @Min(1) Long id){
+            @Parameter(description = "ID of the driver to retrieve", example = "1") @Min(1) Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            String current = driverService.getETag(id);
+            if (ETags.matches(ifNoneMatch, current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
         DriverResponse res = driverService.getById(id);
-        return ResponseEntity.ok(BaseResponse.ok("Driver retrieved successfully", res));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(res.version()))
+                .body(BaseResponse.ok("Driver retrieved successfully", res));
     }
 
 
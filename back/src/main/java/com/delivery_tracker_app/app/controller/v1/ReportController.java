@@ -0,0 +1,56 @@
+package com.delivery_tracker_app.app.controller.v1;
+
+import com.delivery_tracker_app.app.config.ApiPaths;
+import com.delivery_tracker_app.app.dto.v1.common.BaseResponse;
+import com.delivery_tracker_app.app.dto.v1.report.ClientMonthlyStatement;
+import com.delivery_tracker_app.app.exception.ErrorResponse;
+import com.delivery_tracker_app.app.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@Validated
+@AllArgsConstructor
+@RequestMapping(ApiPaths.BASE+ApiPaths.V1+"/reports")
+@Tag(name = "Reports", description = "Financial aggregates computed over transport logs")
+@SecurityRequirement(name = "BearerAuth")
+public class ReportController {
+    private final ReportService reportService;
+
+    @GetMapping("/client-statements")
+    @Operation(summary = "Get per-client monthly financial statements",
+               description = "Returns trip count, cost components, revenue and margin per client and load month within a date range.")
+    @ApiResponse(responseCode = "200", description = "Statements computed",
+                 content = @Content(array = @ArraySchema(schema = @Schema(implementation = ClientMonthlyStatement.class))))
+    @ApiResponse(responseCode = "400", description = "Invalid date range or client ID",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<List<ClientMonthlyStatement>>> getClientStatements(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First load date to include", example = "2024-01-01") LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last load date to include", example = "2024-12-31") LocalDate to,
+            @RequestParam(required = false) @Min(1)
+            @Parameter(description = "Restrict the report to one client", example = "1") Long clientId
+    ){
+        List<ClientMonthlyStatement> res = reportService.getClientStatements(from, to, clientId);
+        return ResponseEntity.ok(BaseResponse.ok("Client statements computed successfully", res));
+    }
+}
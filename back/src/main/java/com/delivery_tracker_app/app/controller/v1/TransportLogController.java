@@ -2,22 +2,51 @@ package com.delivery_tracker_app.app.controller.v1;
 
 import com.delivery_tracker_app.app.config.ApiPaths;
 import com.delivery_tracker_app.app.dto.v1.common.BaseResponse;
+import com.delivery_tracker_app.app.dto.v1.common.BulkOperationResponse;
+import com.delivery_tracker_app.app.dto.v1.common.CursorPagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.ETags;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogBatchRequest;
 import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.LocationSuggestion;
+import com.delivery_tracker_app.app.dto.v1.transportLog.PatchTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.SuggestionField;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBatchResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkDeleteRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkUpdateRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogImportStatus;
 import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogSearchCriteria;
 import com.delivery_tracker_app.app.dto.v1.transportLog.UpdateTransportLogRequest;
+import com.delivery_tracker_app.app.exception.BadRequestException;
+import com.delivery_tracker_app.app.service.TransportLogExportService;
+import com.delivery_tracker_app.app.service.TransportLogImportService;
 import com.delivery_tracker_app.app.service.TransportLogService;
+import com.delivery_tracker_app.app.service.TransportLogTextSearchService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
 
 // Import Swagger/OpenAPI annotations
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,6 +67,9 @@ import com.delivery_tracker_app.app.exception.ErrorResponse;
 @SecurityRequirement(name = "BearerAuth")
 public class TransportLogController {
     private final TransportLogService transportLogService;
+    private final TransportLogExportService transportLogExportService;
+    private final TransportLogImportService transportLogImportService;
+    private final TransportLogTextSearchService transportLogTextSearchService;
 
     @PostMapping
     @Operation(summary = "Create a new transport log entry", description = "Records a new transport log entry in the system.")
@@ -52,6 +84,48 @@ public class TransportLogController {
                 .body(BaseResponse.ok("Transport log created successfully", res));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create transport log entries in bulk",
+               description = "Creates many transport log entries in one transaction. Each item is validated on its own and the response reports the outcome of every item by its position in the request.")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results",
+                 content = @Content(schema = @Schema(implementation = TransportLogBatchResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<TransportLogBatchResponse>> createBatch(@Valid @RequestBody CreateTransportLogBatchRequest request){
+        TransportLogBatchResponse res = transportLogService.createBatch(request.items());
+        return ResponseEntity.ok(BaseResponse.ok("Transport log batch processed", res));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import transport log entries from CSV",
+               description = "Starts a background import of a CSV file (optionally .csv.gz) using the same columns as the CSV export. "
+                       + "Clients and drivers are referenced by clientId/driverId or by clientIdentityId/driverPlateNumber. "
+                       + "Poll the returned job for progress.")
+    @ApiResponse(responseCode = "202", description = "Import job accepted",
+                 content = @Content(schema = @Schema(implementation = TransportLogImportStatus.class)))
+    @ApiResponse(responseCode = "400", description = "Missing or empty file",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<TransportLogImportStatus>> startImport(
+            @RequestPart("file") @Parameter(description = "CSV file to import") MultipartFile file){
+        TransportLogImportStatus res = transportLogImportService.startImport(file);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/v1/trans_logs/import/" + res.jobId()))
+                .body(BaseResponse.ok("Transport log import started", res));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get the status of a CSV import", description = "Reports progress, rejected rows and throughput of an import job.")
+    @ApiResponse(responseCode = "200", description = "Import job found and returned",
+                 content = @Content(schema = @Schema(implementation = TransportLogImportStatus.class)))
+    @ApiResponse(responseCode = "404", description = "Import job not found",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<TransportLogImportStatus>> getImportStatus(
+            @PathVariable @Parameter(description = "ID of the import job") String jobId){
+        TransportLogImportStatus res = transportLogImportService.getStatus(jobId);
+        return ResponseEntity.ok(BaseResponse.ok("Transport log import status retrieved successfully", res));
+    }
+
     @PutMapping
     @Operation(summary = "Update an existing transport log entry", description = "Modifies details of an existing transport log entry.")
     @ApiResponse(responseCode = "200", description = "Transport log updated successfully",
@@ -60,27 +134,181 @@ public class TransportLogController {
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Transport log not found", // Assuming service throws ResourceNotFoundException
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
-    public ResponseEntity<BaseResponse<TransportLogResponse>> update(@Valid @RequestBody UpdateTransportLogRequest request){
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<TransportLogResponse>> update(
+            @Valid @RequestBody UpdateTransportLogRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag from a previous read; the update is rejected with 412 if the transport log changed since") String ifMatch){
+        if (ifMatch != null) {
+            // The tag embeds the client and driver versions; the update itself only checks the log's
+            request = request.withVersion(ETags.expectedVersion(ifMatch, transportLogService.getETag(request.id())));
+        }
         TransportLogResponse res = transportLogService.update(request);
-        return ResponseEntity.ok(BaseResponse.ok("Transport log updated successfully", res));
+        return ResponseEntity.ok()
+                .eTag(eTag(res))
+                .body(BaseResponse.ok("Transport log updated successfully", res));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a transport log entry",
+               description = "Changes only the fields present in the body; omitted or null fields keep their value. Only the changed columns are written.")
+    @ApiResponse(responseCode = "200", description = "Transport log updated successfully",
+                 content = @Content(schema = @Schema(implementation = TransportLogResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid update data",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Transport log not found",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<TransportLogResponse>> patch(
+            @PathVariable
+            @Parameter(description = "ID of the transport log entry to update", example = "1") @Min(1) Long id,
+            @Valid @RequestBody PatchTransportLogRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag from a previous read; the update is rejected with 412 if the transport log changed since") String ifMatch){
+        if (ifMatch != null) {
+            request = request.withVersion(ETags.expectedVersion(ifMatch, transportLogService.getETag(id)));
+        }
+        TransportLogResponse res = transportLogService.patch(id, request);
+        return ResponseEntity.ok()
+                .eTag(eTag(res))
+                .body(BaseResponse.ok("Transport log updated successfully", res));
     }
 
     @GetMapping
     @Operation(summary = "Get all transport log entries with pagination", description = "Retrieves a paginated list of all transport log entries.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of transport log entries",
-                 content = @Content(schema = @Schema(implementation = PagedResponse.class)))
+                 content = @Content(schema = @Schema(oneOf = {PagedResponse.class, SliceResponse.class})))
     @ApiResponse(responseCode = "400", description = "Invalid pagination parameters",
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
-    public ResponseEntity<BaseResponse<PagedResponse<TransportLogResponse>>> getAll(
+    public ResponseEntity<BaseResponse<?>> getAll(
             @RequestParam(defaultValue = "0")
             @Parameter(description = "Page number (0-indexed)", example = "0") int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(30)
-            @Parameter(description = "Number of items per page (1-30)", example = "10") int size
+            @Parameter(description = "Number of items per page (1-30)", example = "10") int size,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Include totalElements/totalPages; false returns a slice with hasNext only and skips the count query", example = "true") boolean count
     ){
+        if (!count) {
+            SliceResponse<TransportLogResponse> res = transportLogService.getSlice(page, size);
+            return ResponseEntity.ok(BaseResponse.ok("Transport logs retrieved successfully", res));
+        }
         PagedResponse<TransportLogResponse> res = transportLogService.getAll(page, size);
         return ResponseEntity.ok(BaseResponse.ok("Transport logs retrieved successfully", res));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get transport log entries with cursor pagination",
+               description = "Retrieves transport log entries ordered by load date (newest first). Pass the returned nextCursor as 'after' to get the following page.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved page of transport log entries",
+                 content = @Content(schema = @Schema(implementation = CursorPagedResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<CursorPagedResponse<TransportLogResponse>>> getAfter(
+            @RequestParam(required = false)
+            @Parameter(description = "Opaque cursor returned by the previous page (omit for the first page)") String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(30)
+            @Parameter(description = "Number of items per page (1-30)", example = "10") int size
+    ){
+        CursorPagedResponse<TransportLogResponse> res = transportLogService.getAfter(after, size);
+        return ResponseEntity.ok(BaseResponse.ok("Transport logs retrieved successfully", res));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search transport log entries", description = "Filters transport log entries by client, driver, load/unload date range, destination, operator and commercial. All filters are optional and combined with AND.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved matching transport log entries",
+                 content = @Content(schema = @Schema(implementation = PagedResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid filter or pagination parameters",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<PagedResponse<TransportLogResponse>>> search(
+            @ParameterObject TransportLogSearchCriteria criteria,
+            @RequestParam(defaultValue = "0")
+            @Parameter(description = "Page number (0-indexed)", example = "0") int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(30)
+            @Parameter(description = "Number of items per page (1-30)", example = "10") int size
+    ){
+        PagedResponse<TransportLogResponse> res = transportLogService.search(criteria, page, size);
+        return ResponseEntity.ok(BaseResponse.ok("Transport logs retrieved successfully", res));
+    }
+
+    @GetMapping("/search/text")
+    @Operation(summary = "Free-text search over transport log entries",
+               description = "Matches the query against load and unload locations, destination and delivery note, tolerating accents, partial words and small typos. Results are ranked best match first, destination matches weighing most.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved matching transport log entries",
+                 content = @Content(schema = @Schema(implementation = PagedResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing query or invalid pagination parameters",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<PagedResponse<TransportLogResponse>>> searchText(
+            @RequestParam @NotBlank @Size(max = 100)
+            @Parameter(description = "Text to look for", example = "tanger port") String q,
+            @RequestParam(defaultValue = "0") @Min(0)
+            @Parameter(description = "Page number (0-indexed)", example = "0") int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(30)
+            @Parameter(description = "Number of items per page (1-30)", example = "10") int size
+    ){
+        PagedResponse<TransportLogResponse> res = transportLogTextSearchService.search(q, page, size);
+        return ResponseEntity.ok(BaseResponse.ok("Transport logs retrieved successfully", res));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete a location field",
+               description = "Returns values already entered in the field that start with the prefix, ignoring case and accents, most used first. Served from memory, so it can be called on every keystroke.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions",
+                 content = @Content(schema = @Schema(implementation = LocationSuggestion.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown field or invalid prefix or limit",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<List<LocationSuggestion>>> suggest(
+            @RequestParam
+            @Parameter(description = "Field to complete", example = "LOAD_LOCATION") SuggestionField field,
+            @RequestParam @NotBlank @Size(max = 100)
+            @Parameter(description = "What the user has typed so far", example = "tan") String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(20)
+            @Parameter(description = "Maximum number of suggestions (1-20)", example = "10") int limit
+    ){
+        List<LocationSuggestion> res = transportLogTextSearchService.suggest(field, prefix, limit);
+        return ResponseEntity.ok(BaseResponse.ok("Suggestions retrieved successfully", res));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all transport log entries as NDJSON",
+               description = "Streams every transport log entry, one JSON object per line, ordered by ID. The response is written while the database is read, so it has no size limit.")
+    @ApiResponse(responseCode = "200", description = "Export stream started")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(){
+        StreamingResponseBody body = transportLogExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("transport-logs.ndjson").build().toString())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/export/csv", produces = {"text/csv", "application/gzip"})
+    @Operation(summary = "Export transport log entries as CSV",
+               description = "Streams the transport log entries loaded within a date range as CSV, including all cost fields and client/driver names. Set gzip=true to receive a compressed .csv.gz file.")
+    @ApiResponse(responseCode = "200", description = "Export stream started")
+    @ApiResponse(responseCode = "400", description = "Invalid date range",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First load date to include", example = "2024-01-01") LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last load date to include", example = "2024-12-31") LocalDate to,
+            @RequestParam(defaultValue = "false")
+            @Parameter(description = "Compress the file with gzip") boolean gzip
+    ){
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to' !");
+        }
+
+        String filename = "transport-logs_" + from + "_" + to + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody body = out -> transportLogExportService.exportCsv(from, to, gzip, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get transport log entry by ID", description = "Retrieves details of a single transport log entry by its unique ID.")
     @ApiResponse(responseCode = "200", description = "Transport log entry found and returned",
@@ -89,12 +317,23 @@ public class TransportLogController {
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Transport log entry not found", // Assuming service throws ResourceNotFoundException
                  content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match")
     @SecurityRequirements({})
     public ResponseEntity<BaseResponse<TransportLogResponse>> getById(
             @PathVariable
-            @Parameter(description = "ID of the transport log entry to retrieve", example = "1") @Min(1) Long id){
+            @Parameter(description = "ID of the transport log entry to retrieve", example = "1") @Min(1) Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            // Answered from the version columns alone, the log, client and driver are never loaded
+            String current = transportLogService.getETag(id);
+            if (ETags.matches(ifNoneMatch, current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
         TransportLogResponse res = transportLogService.getById(id);
-        return ResponseEntity.ok(BaseResponse.ok("Transport log retrieved successfully", res));
+        return ResponseEntity.ok()
+                .eTag(eTag(res))
+                .body(BaseResponse.ok("Transport log retrieved successfully", res));
     }
 
 
@@ -111,4 +350,36 @@ public class TransportLogController {
         transportLogService.delete(id);
         return ResponseEntity.ok(BaseResponse.ok("Transport log deleted successfully", null));
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/bulk")
+    @Operation(summary = "Update many transport log entries at once",
+               description = "Sets the given values on every log selected by ids and/or search criteria in a single UPDATE statement and returns the number of affected rows.")
+    @ApiResponse(responseCode = "200", description = "Transport logs updated",
+                 content = @Content(schema = @Schema(implementation = BulkOperationResponse.class)))
+    @ApiResponse(responseCode = "400", description = "No rows selected, nothing to update or too many ids",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<BulkOperationResponse>> bulkUpdate(@Valid @RequestBody TransportLogBulkUpdateRequest request){
+        BulkOperationResponse res = transportLogService.bulkUpdate(request);
+        return ResponseEntity.ok(BaseResponse.ok("Transport logs updated successfully", res));
+    }
+
+    // POST rather than DELETE: the selection travels in the body, which DELETE requests should not carry
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete many transport log entries at once",
+               description = "Deletes every log selected by ids and/or search criteria in a single DELETE statement and returns the number of affected rows.")
+    @ApiResponse(responseCode = "200", description = "Transport logs deleted",
+                 content = @Content(schema = @Schema(implementation = BulkOperationResponse.class)))
+    @ApiResponse(responseCode = "400", description = "No rows selected or too many ids",
+                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public ResponseEntity<BaseResponse<BulkOperationResponse>> bulkDelete(@Valid @RequestBody TransportLogBulkDeleteRequest request){
+        BulkOperationResponse res = transportLogService.bulkDelete(request);
+        return ResponseEntity.ok(BaseResponse.ok("Transport logs deleted successfully", res));
+    }
+
+    // Same tag as TransportLogService.getETag, read from the response instead of the version columns
+    private static String eTag(TransportLogResponse res) {
+        return ETags.of(res.version(),
+                res.client() != null ? res.client().version() : null,
+                res.driver() != null ? res.driver().version() : null);
+    }
+}
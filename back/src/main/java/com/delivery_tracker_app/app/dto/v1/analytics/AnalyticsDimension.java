@@ -0,0 +1,13 @@
+package com.delivery_tracker_app.app.dto.v1.analytics;
+
+/**
+ * What analytics results can be grouped by. Clients and drivers are reported by id, months as
+ * {@code yyyy-MM} of the load date.
+ */
+public enum AnalyticsDimension {
+    CLIENT,
+    DRIVER,
+    OPERATOR,
+    COMMERCIAL,
+    MONTH
+}
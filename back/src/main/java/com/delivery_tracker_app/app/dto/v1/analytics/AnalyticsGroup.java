@@ -0,0 +1,15 @@
+package com.delivery_tracker_app.app.dto.v1.analytics;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * One group of an analytics result: its value for each grouped dimension, the number of logs in
+ * it and the requested sums.
+ */
+public record AnalyticsGroup(
+        Map<AnalyticsDimension, Object> key,
+        long trips,
+        Map<AnalyticsMeasure, BigDecimal> sums
+) {
+}
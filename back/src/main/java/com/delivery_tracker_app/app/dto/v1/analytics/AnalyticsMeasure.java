@@ -0,0 +1,25 @@
+package com.delivery_tracker_app.app.dto.v1.analytics;
+
+/**
+ * Sums available in analytics results. Amounts are summed in cents and fuel quantities in
+ * hundredths of a liter; fuel cost is quantity times price per liter, so it carries four decimals.
+ */
+public enum AnalyticsMeasure {
+    ADVANCE(2),
+    FUEL_QUANTITY(2),
+    FUEL_COST(4),
+    VARIABLE_CHARGE(2),
+    CHARGE_PRICE(2),
+    CLIENT_TARIFF(2),
+    TRIP_PRICE(2);
+
+    private final int scale;
+
+    AnalyticsMeasure(int scale) {
+        this.scale = scale;
+    }
+
+    public int scale() {
+        return scale;
+    }
+}
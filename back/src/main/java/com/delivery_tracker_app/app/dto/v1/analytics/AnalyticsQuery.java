@@ -0,0 +1,27 @@
+package com.delivery_tracker_app.app.dto.v1.analytics;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AnalyticsQuery(
+        @Parameter(description = "Dimensions to group by, in order; none gives a single total", example = "CLIENT,MONTH")
+        List<AnalyticsDimension> groupBy,
+        @Parameter(description = "Sums to compute; all of them when omitted", example = "CLIENT_TARIFF,TRIP_PRICE")
+        List<AnalyticsMeasure> measures,
+        @Parameter(description = "Only logs for this client", example = "1")
+        Long clientId,
+        @Parameter(description = "Only logs for this driver", example = "1")
+        Long driverId,
+        @Parameter(description = "Earliest load date (inclusive)", example = "2024-01-01")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadDateFrom,
+        @Parameter(description = "Latest load date (inclusive)", example = "2024-12-31")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadDateTo,
+        @Parameter(description = "Exact operator")
+        String operator,
+        @Parameter(description = "Exact commercial")
+        String commercial
+) {
+}
@@ -0,0 +1,16 @@
+package com.delivery_tracker_app.app.dto.v1.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Groups ordered by their key, with how many logs were scanned and matched and when the data was
+ * last loaded from the table.
+ */
+public record AnalyticsResult(
+        List<AnalyticsGroup> groups,
+        long scanned,
+        long matched,
+        Instant loadedAt
+) {
+}
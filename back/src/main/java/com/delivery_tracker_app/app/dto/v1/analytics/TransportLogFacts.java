@@ -0,0 +1,32 @@
+package com.delivery_tracker_app.app.dto.v1.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * The grouping and numeric fields of a transport log, as fed to the analytics copy. Amounts are
+ * in cents and the fuel quantity in hundredths of a liter, missing values counting as zero.
+ */
+public record TransportLogFacts(
+        long id,
+        long version,
+        Long clientId,
+        Long driverId,
+        LocalDate loadDate,
+        String operator,
+        String commercial,
+        long advance,
+        long fuelQuantity,
+        long fuelPricePerLiter,
+        long variableCharge,
+        long chargePrice,
+        long clientTariff,
+        long tripPrice
+) {
+
+    // Same rounding as the numeric(38,2) columns
+    public static long hundredths(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+}
@@ -1,6 +1,6 @@
 package com.delivery_tracker_app.app.dto.v1.client;
 
 public record ClientResponse(
-        Long id, String name, String identityId
+        Long id, String name, String identityId, Long version
 ) {
 }
@@ -7,6 +7,15 @@ import jakarta.validation.constraints.Size;
 public record UpdateClientRequest(
         @NotNull Long id,
         @NotBlank @Size(max = 20) String name,
-        @NotBlank @Size(max = 20)String identityId
+        @NotBlank @Size(max = 20)String identityId,
+        Long version
 ) {
+    // Unconditional update: no expected version to check against
+    public UpdateClientRequest(Long id, String name, String identityId) {
+        this(id, name, identityId, null);
+    }
+
+    public UpdateClientRequest withVersion(Long version) {
+        return new UpdateClientRequest(id, name, identityId, version);
+    }
 }
@@ -0,0 +1,6 @@
+package com.delivery_tracker_app.app.dto.v1.common;
+
+public record BulkOperationResponse(
+        int affected
+) {
+}
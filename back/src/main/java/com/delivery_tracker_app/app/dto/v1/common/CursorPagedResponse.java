@@ -0,0 +1,11 @@
+package com.delivery_tracker_app.app.dto.v1.common;
+
+import java.util.List;
+
+public record CursorPagedResponse<T>(
+        List<T> data,
+        int size,
+        String nextCursor,
+        boolean last
+) {
+}
@@ -0,0 +1,102 @@
+package com.delivery_tracker_app.app.dto.v1.common;
+
+import com.delivery_tracker_app.app.exception.BadRequestException;
+import com.delivery_tracker_app.app.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Strong ETags built from entity {@code @Version} values, e.g. {@code "3"} or {@code "3.1.2"}
+ * when a representation also embeds other versioned entities ({@code "3.-.2"} when one is absent).
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long... versions) {
+        return Arrays.stream(versions)
+                .map(version -> version != null ? version.toString() : "-")
+                .collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match: {@code *} or any listed tag, with or
+     * without the {@code W/} prefix.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version the client expects the resource to be at, read from the leading part of the first
+     * strong If-Match tag. Returns null for {@code *}, which only requires the resource to exist.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = strongTag(candidate);
+            if (tag != null) {
+                return tag.equals("*") ? null : leadingVersion(tag);
+            }
+        }
+        throw new PreconditionFailedException("If-Match requires a strong ETag !");
+    }
+
+    /**
+     * Same as {@link #expectedVersion(String)} for a resource whose tag also embeds the versions of
+     * other entities: one of the listed strong tags must equal the current one, so a change to one of
+     * those entities fails the request with 412 as well, not only a change to the resource.
+     */
+    public static Long expectedVersion(String ifMatch, String current) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = strongTag(candidate);
+            if (tag == null) {
+                continue;
+            }
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.equals(current)) {
+                return leadingVersion(tag);
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version !");
+    }
+
+    // Null for a weak tag: If-Match uses strong comparison, so a weak tag never matches and is skipped
+    private static String strongTag(String candidate) {
+        String tag = candidate.trim();
+        if (tag.equals("*")) {
+            return tag;
+        }
+        if (tag.startsWith("W/")) {
+            return null;
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new BadRequestException("Malformed If-Match header !");
+        }
+        return tag;
+    }
+
+    private static Long leadingVersion(String tag) {
+        String leading = tag.substring(1, tag.length() - 1).split("\\.")[0];
+        try {
+            return Long.valueOf(leading);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed If-Match header !");
+        }
+    }
+}
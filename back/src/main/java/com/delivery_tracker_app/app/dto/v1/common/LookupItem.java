@@ -0,0 +1,10 @@
+package com.delivery_tracker_app.app.dto.v1.common;
+
+/**
+ * Compact picker entry: the id to submit and the text to display.
+ */
+public record LookupItem(
+        Long id,
+        String label
+) {
+}
@@ -0,0 +1,35 @@
+package com.delivery_tracker_app.app.dto.v1.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * An immutable lookup list together with a strong ETag derived from its content.
+ */
+public record LookupSnapshot(
+        List<LookupItem> items,
+        String etag,
+        Instant builtAt
+) {
+    public static LookupSnapshot of(List<LookupItem> items) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (LookupItem item : items) {
+            digest.update(String.valueOf(item.id()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(item.label()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        // 128 bits of the hash are plenty to tell two versions of the list apart
+        String etag = "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        return new LookupSnapshot(List.copyOf(items), etag, Instant.now());
+    }
+}
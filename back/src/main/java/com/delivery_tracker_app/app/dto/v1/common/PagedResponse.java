@@ -8,6 +8,11 @@ import java.util.List;
         int size,
         long totalElements,
         int totalPages,
-        boolean last
+        boolean last,
+        // false when totalElements comes from a cached or planner estimate rather than a COUNT(*)
+        boolean totalExact
 ) {
+    public PagedResponse(List<T> data, int page, int size, long totalElements, int totalPages, boolean last) {
+        this(data, page, size, totalElements, totalPages, last, true);
+    }
 }
@@ -0,0 +1,10 @@
+package com.delivery_tracker_app.app.dto.v1.common;
+
+/**
+ * An entity id paired with the natural key users know it by (client identity id, driver plate number).
+ */
+public record ReferenceKey(
+        Long id,
+        String key
+) {
+}
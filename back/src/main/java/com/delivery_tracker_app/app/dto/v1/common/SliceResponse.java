@@ -0,0 +1,14 @@
+package com.delivery_tracker_app.app.dto.v1.common;
+
+import java.util.List;
+
+/**
+ * A page without totals: {@code hasNext} is known from fetching one extra row, so no count query runs.
+ */
+public record SliceResponse<T>(
+        List<T> data,
+        int page,
+        int size,
+        boolean hasNext
+) {
+}
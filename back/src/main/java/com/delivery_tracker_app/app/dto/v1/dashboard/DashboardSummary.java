@@ -0,0 +1,16 @@
+package com.delivery_tracker_app.app.dto.v1.dashboard;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public record DashboardSummary(
+        long totalClients,
+        long totalDrivers,
+        long totalTransportLogs,
+        YearMonth month,
+        DashboardTotals monthTotals,
+        List<TransportLogResponse> latestLogs
+) {
+}
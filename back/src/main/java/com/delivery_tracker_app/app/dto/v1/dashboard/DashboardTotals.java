@@ -0,0 +1,19 @@
+package com.delivery_tracker_app.app.dto.v1.dashboard;
+
+import java.math.BigDecimal;
+
+/**
+ * Headline figures for a load date range.
+ */
+public record DashboardTotals(
+        long trips,
+        BigDecimal revenue,
+        BigDecimal tripPrice
+) {
+    // Used by the aggregate JPQL query; sums over an empty range come back as null
+    public DashboardTotals(Long trips, BigDecimal revenue, BigDecimal tripPrice) {
+        this(trips != null ? trips : 0L,
+                revenue != null ? revenue : BigDecimal.ZERO,
+                tripPrice != null ? tripPrice : BigDecimal.ZERO);
+    }
+}
@@ -1,6 +1,6 @@
 package com.delivery_tracker_app.app.dto.v1.driver;
 
 public record DriverResponse(
-    Long id, String name, String plateNumber
+    Long id, String name, String plateNumber, Long version
 ) {
 }
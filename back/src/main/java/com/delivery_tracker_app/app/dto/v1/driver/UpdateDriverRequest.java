@@ -7,6 +7,15 @@ import jakarta.validation.constraints.Size;
 public record UpdateDriverRequest(
         @NotNull Long id,
         @NotBlank @Size(max = 20) String name,
-        @NotBlank @Size(max = 20) String plateNumber
+        @NotBlank @Size(max = 20) String plateNumber,
+        Long version
 ) {
+    // Unconditional update: no expected version to check against
+    public UpdateDriverRequest(Long id, String name, String plateNumber) {
+        this(id, name, plateNumber, null);
+    }
+
+    public UpdateDriverRequest withVersion(Long version) {
+        return new UpdateDriverRequest(id, name, plateNumber, version);
+    }
 }
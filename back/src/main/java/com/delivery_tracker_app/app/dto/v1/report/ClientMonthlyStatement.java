@@ -0,0 +1,41 @@
+package com.delivery_tracker_app.app.dto.v1.report;
+
+import java.math.BigDecimal;
+
+/**
+ * Revenue, cost and margin of one client for one month of load dates.
+ * Revenue is the sum of client tariffs; cost is trip price plus fuel (quantity x price per liter),
+ * variable charges and charge price. Advances are reported separately since they are part of the trip price.
+ */
+public record ClientMonthlyStatement(
+        Long clientId,
+        String clientName,
+        int year,
+        int month,
+        long trips,
+        BigDecimal advance,
+        BigDecimal fuelCost,
+        BigDecimal variableCharge,
+        BigDecimal chargePrice,
+        BigDecimal clientTariff,
+        BigDecimal tripPrice,
+        BigDecimal revenue,
+        BigDecimal cost,
+        BigDecimal margin
+) {
+    // Used by the aggregate JPQL query; derived figures are computed per group, not per row
+    public ClientMonthlyStatement(Long clientId, String clientName, Integer year, Integer month, Long trips,
+                                  BigDecimal advance, BigDecimal fuelCost, BigDecimal variableCharge,
+                                  BigDecimal chargePrice, BigDecimal clientTariff, BigDecimal tripPrice) {
+        this(clientId, clientName, year, month, trips,
+                orZero(advance), orZero(fuelCost), orZero(variableCharge), orZero(chargePrice),
+                orZero(clientTariff), orZero(tripPrice),
+                orZero(clientTariff),
+                orZero(tripPrice).add(orZero(fuelCost)).add(orZero(variableCharge)).add(orZero(chargePrice)),
+                orZero(clientTariff).subtract(orZero(tripPrice).add(orZero(fuelCost)).add(orZero(variableCharge)).add(orZero(chargePrice))));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
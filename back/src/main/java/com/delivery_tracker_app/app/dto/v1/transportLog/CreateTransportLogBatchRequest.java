@@ -0,0 +1,10 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record CreateTransportLogBatchRequest(
+        @NotEmpty List<CreateTransportLogRequest> items
+) {
+}
@@ -1,5 +1,6 @@
 package com.delivery_tracker_app.app.dto.v1.transportLog;
 
+import com.delivery_tracker_app.app.entity.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -15,13 +16,13 @@ public record CreateTransportLogRequest(
         @NotBlank String unloadLocation,
         @NotBlank String destinationName,
         String deliveryNote,
-        @NotNull BigDecimal advance,
+        @NotNull Money advance,
         @NotNull BigDecimal fuelQuantity,
-        @NotNull BigDecimal fuelPricePerLiter,
-        @NotNull BigDecimal variableCharge,
-        @NotNull BigDecimal chargePrice,
-        @NotNull BigDecimal clientTariff,
-        @NotNull BigDecimal tripPrice,
+        @NotNull Money fuelPricePerLiter,
+        @NotNull Money variableCharge,
+        @NotNull Money chargePrice,
+        @NotNull Money clientTariff,
+        @NotNull Money tripPrice,
         @NotBlank String operator,
         @NotBlank String commercial
 ) {
@@ -0,0 +1,10 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+/**
+ * A value already entered in a location field, with the number of logs using it.
+ */
+public record LocationSuggestion(
+        String value,
+        int count
+) {
+}
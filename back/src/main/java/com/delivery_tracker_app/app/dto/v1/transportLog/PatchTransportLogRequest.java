@@ -0,0 +1,37 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import com.delivery_tracker_app.app.entity.Money;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Partial update of a transport log: null fields are left unchanged.
+ */
+public record PatchTransportLogRequest(
+        Long clientId,
+        Long driverId,
+        LocalDate loadDate,
+        @Pattern(regexp = ".*\\S.*") String loadLocation,
+        LocalDate unloadDate,
+        @Pattern(regexp = ".*\\S.*") String unloadLocation,
+        @Pattern(regexp = ".*\\S.*") String destinationName,
+        String deliveryNote,
+        Money advance,
+        BigDecimal fuelQuantity,
+        Money fuelPricePerLiter,
+        Money variableCharge,
+        Money chargePrice,
+        Money clientTariff,
+        Money tripPrice,
+        @Pattern(regexp = ".*\\S.*") String operator,
+        @Pattern(regexp = ".*\\S.*") String commercial,
+        Long version
+) {
+    public PatchTransportLogRequest withVersion(Long version) {
+        return new PatchTransportLogRequest(clientId, driverId, loadDate, loadLocation, unloadDate,
+                unloadLocation, destinationName, deliveryNote, advance, fuelQuantity, fuelPricePerLiter,
+                variableCharge, chargePrice, clientTariff, tripPrice, operator, commercial, version);
+    }
+}
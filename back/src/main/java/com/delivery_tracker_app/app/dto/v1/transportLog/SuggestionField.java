@@ -0,0 +1,28 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import java.util.function.Function;
+
+/**
+ * The transport log fields offering autocomplete, with the column their values are read from.
+ */
+public enum SuggestionField {
+    LOAD_LOCATION("load_location", TransportLogTextDocument::loadLocation),
+    UNLOAD_LOCATION("unload_location", TransportLogTextDocument::unloadLocation),
+    DESTINATION_NAME("destination_name", TransportLogTextDocument::destinationName);
+
+    private final String column;
+    private final Function<TransportLogTextDocument, String> accessor;
+
+    SuggestionField(String column, Function<TransportLogTextDocument, String> accessor) {
+        this.column = column;
+        this.accessor = accessor;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public String valueOf(TransportLogTextDocument document) {
+        return document == null ? null : accessor.apply(document);
+    }
+}
@@ -0,0 +1,16 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+public record TransportLogBatchItemResult(
+        int index,
+        boolean success,
+        Long id,
+        String message
+) {
+    public static TransportLogBatchItemResult created(int index, Long id){
+        return new TransportLogBatchItemResult(index, true, id, null);
+    }
+
+    public static TransportLogBatchItemResult failed(int index, String message){
+        return new TransportLogBatchItemResult(index, false, null, message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import java.util.List;
+
+public record TransportLogBatchResponse(
+        int created,
+        int failed,
+        List<TransportLogBatchItemResult> results
+) {
+}
@@ -0,0 +1,12 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import java.util.List;
+
+/**
+ * Selects the transport logs to delete by ids, by criteria, or by both combined with AND.
+ */
+public record TransportLogBulkDeleteRequest(
+        List<Long> ids,
+        TransportLogSearchCriteria criteria
+) {
+}
@@ -0,0 +1,26 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import com.delivery_tracker_app.app.entity.Money;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Sets the same values on every selected transport log. Rows are selected by ids, by criteria,
+ * or by both combined with AND; null values are left unchanged.
+ */
+public record TransportLogBulkUpdateRequest(
+        List<Long> ids,
+        TransportLogSearchCriteria criteria,
+        Money advance,
+        BigDecimal fuelQuantity,
+        Money fuelPricePerLiter,
+        Money variableCharge,
+        Money chargePrice,
+        Money clientTariff,
+        Money tripPrice,
+        @Pattern(regexp = ".*\\S.*") String operator,
+        @Pattern(regexp = ".*\\S.*") String commercial
+) {
+}
@@ -0,0 +1,33 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import com.delivery_tracker_app.app.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset page, ordered by (loadDate desc, id desc).
+ * Clients only ever see the opaque token produced by {@link #encode()}.
+ */
+public record TransportLogCursor(LocalDate loadDate, Long id) {
+
+    public String encode() {
+        String raw = loadDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransportLogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new BadRequestException("Invalid cursor !");
+            }
+            return new TransportLogCursor(LocalDate.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor !");
+        }
+    }
+}
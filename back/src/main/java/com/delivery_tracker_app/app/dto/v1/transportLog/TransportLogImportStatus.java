@@ -0,0 +1,21 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import java.time.Instant;
+import java.util.List;
+
+public record TransportLogImportStatus(
+        String jobId,
+        State state,
+        String fileName,
+        long rowsRead,
+        long rowsImported,
+        long rowsRejected,
+        double rowsPerSecond,
+        List<String> errors,
+        Instant startedAt,
+        Instant finishedAt
+) {
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -2,6 +2,7 @@ package com.delivery_tracker_app.app.dto.v1.transportLog;
 
 import com.delivery_tracker_app.app.dto.v1.client.ClientResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.DriverResponse;
+import com.delivery_tracker_app.app.entity.Money;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,14 +17,15 @@ public record TransportLogResponse(
         String unloadLocation,
         String destinationName,
         String deliveryNote,
-        BigDecimal advance,
+        Money advance,
         BigDecimal fuelQuantity,
-        BigDecimal fuelPricePerLiter,
-        BigDecimal variableCharge,
-        BigDecimal chargePrice,
-        BigDecimal clientTariff,
-        BigDecimal tripPrice,
+        Money fuelPricePerLiter,
+        Money variableCharge,
+        Money chargePrice,
+        Money clientTariff,
+        Money tripPrice,
         String operator,
-        String commercial
+        String commercial,
+        Long version
 ) {
 }
@@ -0,0 +1,38 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import com.delivery_tracker_app.app.entity.Money;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat read model of a transport log joined with its client and driver.
+ * Filled directly by JPQL constructor expressions, so no managed entity is created.
+ */
+public record TransportLogRow(
+        Long id,
+        Long clientId,
+        String clientName,
+        String clientIdentityId,
+        Long driverId,
+        String driverName,
+        String driverPlateNumber,
+        LocalDate loadDate,
+        String loadLocation,
+        LocalDate unloadDate,
+        String unloadLocation,
+        String destinationName,
+        String deliveryNote,
+        Money advance,
+        BigDecimal fuelQuantity,
+        Money fuelPricePerLiter,
+        Money variableCharge,
+        Money chargePrice,
+        Money clientTariff,
+        Money tripPrice,
+        String operator,
+        String commercial,
+        Long version,
+        Long clientVersion,
+        Long driverVersion
+) {
+}
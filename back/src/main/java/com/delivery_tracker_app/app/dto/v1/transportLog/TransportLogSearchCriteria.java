@@ -0,0 +1,28 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+public record TransportLogSearchCriteria(
+        @Parameter(description = "Only logs for this client", example = "1")
+        Long clientId,
+        @Parameter(description = "Only logs for this driver", example = "1")
+        Long driverId,
+        @Parameter(description = "Earliest load date (inclusive)", example = "2024-01-01")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadDateFrom,
+        @Parameter(description = "Latest load date (inclusive)", example = "2024-01-31")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadDateTo,
+        @Parameter(description = "Earliest unload date (inclusive)", example = "2024-01-01")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate unloadDateFrom,
+        @Parameter(description = "Latest unload date (inclusive)", example = "2024-01-31")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate unloadDateTo,
+        @Parameter(description = "Exact destination name")
+        String destinationName,
+        @Parameter(description = "Exact operator")
+        String operator,
+        @Parameter(description = "Exact commercial")
+        String commercial
+) {
+}
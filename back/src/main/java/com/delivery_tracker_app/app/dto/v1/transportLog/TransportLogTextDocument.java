@@ -0,0 +1,13 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+/**
+ * The free-text fields of a transport log, as fed to the text search index.
+ */
+public record TransportLogTextDocument(
+        Long id,
+        String loadLocation,
+        String unloadLocation,
+        String destinationName,
+        String deliveryNote
+) {
+}
@@ -0,0 +1,12 @@
+package com.delivery_tracker_app.app.dto.v1.transportLog;
+
+/**
+ * Versions of a transport log and of the client and driver embedded in its response,
+ * read without loading any of the three entities.
+ */
+public record TransportLogVersions(
+        Long version,
+        Long clientVersion,
+        Long driverVersion
+) {
+}
@@ -1,5 +1,6 @@
 package com.delivery_tracker_app.app.dto.v1.transportLog;
 
+import com.delivery_tracker_app.app.entity.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -16,14 +17,31 @@ public record UpdateTransportLogRequest(
         @NotBlank String unloadLocation,
         @NotBlank String destinationName,
         String deliveryNote,
-        @NotNull BigDecimal advance,
+        @NotNull Money advance,
         @NotNull BigDecimal fuelQuantity,
-        @NotNull BigDecimal fuelPricePerLiter,
-        @NotNull BigDecimal variableCharge,
-        @NotNull BigDecimal chargePrice,
-        @NotNull BigDecimal clientTariff,
-        @NotNull BigDecimal tripPrice,
+        @NotNull Money fuelPricePerLiter,
+        @NotNull Money variableCharge,
+        @NotNull Money chargePrice,
+        @NotNull Money clientTariff,
+        @NotNull Money tripPrice,
         @NotBlank String operator,
-        @NotBlank String commercial
+        @NotBlank String commercial,
+        Long version
 ) {
+    // Unconditional update: no expected version to check against
+    public UpdateTransportLogRequest(Long id, Long clientId, Long driverId, LocalDate loadDate, String loadLocation,
+                                     LocalDate unloadDate, String unloadLocation, String destinationName,
+                                     String deliveryNote, Money advance, BigDecimal fuelQuantity,
+                                     Money fuelPricePerLiter, Money variableCharge, Money chargePrice,
+                                     Money clientTariff, Money tripPrice, String operator, String commercial) {
+        this(id, clientId, driverId, loadDate, loadLocation, unloadDate, unloadLocation, destinationName,
+                deliveryNote, advance, fuelQuantity, fuelPricePerLiter, variableCharge, chargePrice,
+                clientTariff, tripPrice, operator, commercial, null);
+    }
+
+    public UpdateTransportLogRequest withVersion(Long version) {
+        return new UpdateTransportLogRequest(id, clientId, driverId, loadDate, loadLocation, unloadDate,
+                unloadLocation, destinationName, deliveryNote, advance, fuelQuantity, fuelPricePerLiter,
+                variableCharge, chargePrice, clientTariff, tripPrice, operator, commercial, version);
+    }
 }
@@ -1,13 +1,20 @@
 package com.delivery_tracker_app.app.entity;
 
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "client")
 @Getter @Setter
 @AllArgsConstructor @NoArgsConstructor
 @Builder
@@ -18,4 +25,8 @@ public class Client {
 
     private String name;
     private String identityId;
+
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 }
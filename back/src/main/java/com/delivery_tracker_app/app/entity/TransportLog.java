@@ -2,6 +2,9 @@ package com.delivery_tracker_app.app.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.PartitionKey;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -9,18 +12,39 @@ import java.time.LocalDate;
 @Entity
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
+// UPDATE statements list only the dirty columns, so a PATCH touching one field writes one field
+@DynamicUpdate
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_transport_log_load_date_id", columnList = "load_date, id"),
+        @Index(name = "idx_transport_log_client_load_date", columnList = "client_id, load_date"),
+        @Index(name = "idx_transport_log_driver_load_date", columnList = "driver_id, load_date"),
+        @Index(name = "idx_transport_log_unload_date", columnList = "unload_date"),
+        @Index(name = "idx_transport_log_destination_name", columnList = "destination_name"),
+        @Index(name = "idx_transport_log_operator", columnList = "operator"),
+        @Index(name = "idx_transport_log_commercial", columnList = "commercial"),
+        // Covers the analytics catch-up, which compares (id, version) pairs with its snapshot
+        @Index(name = "idx_transport_log_id_version", columnList = "id, version")
+})
 public class TransportLog {
+    public static final String ID_SEQUENCE = "transport_log_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence so Hibernate can assign ids without a round trip per row and batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Client client;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Driver driver;
 
+    // Partition key once the table is partitioned by month; Hibernate adds it to the WHERE clause
+    // of its UPDATE and DELETE statements so PostgreSQL touches a single partition
+    @PartitionKey
     private LocalDate loadDate;
     private String loadLocation;
     private LocalDate unloadDate;
@@ -28,14 +52,19 @@ public class TransportLog {
     private String destinationName;
     private String deliveryNote;
 
-    private BigDecimal advance;
+    private Money advance;
     private BigDecimal fuelQuantity;
-    private BigDecimal fuelPricePerLiter;
-    private BigDecimal variableCharge;
-    private BigDecimal chargePrice;
-    private BigDecimal clientTariff;
-    private BigDecimal tripPrice;
+    private Money fuelPricePerLiter;
+    private Money variableCharge;
+    private Money chargePrice;
+    private Money clientTariff;
+    private Money tripPrice;
 
     private String operator;
     private String commercial;
+
+    // Bumped by Hibernate on every update; exposed to API clients as the ETag
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 }
@@ -0,0 +1,49 @@
+package com.delivery_tracker_app.app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Transport logs moved out of {@code transport_log} by the archiver. Rows keep their id and the
+ * raw client and driver ids, without foreign keys, so archiving never blocks on reference data.
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_transport_log_archive_load_date", columnList = "load_date"),
+        @Index(name = "idx_transport_log_archive_client_load_date", columnList = "client_id, load_date")
+})
+public class TransportLogArchive {
+    @Id
+    private Long id;
+
+    private Long clientId;
+    private Long driverId;
+
+    private LocalDate loadDate;
+    private String loadLocation;
+    private LocalDate unloadDate;
+    private String unloadLocation;
+    private String destinationName;
+    private String deliveryNote;
+
+    private Money advance;
+    private BigDecimal fuelQuantity;
+    private Money fuelPricePerLiter;
+    private Money variableCharge;
+    private Money chargePrice;
+    private Money clientTariff;
+    private Money tripPrice;
+
+    private String operator;
+    private String commercial;
+
+    private Long version;
+    private Instant archivedAt;
+}
@@ -24,6 +24,6 @@ public class ClientMapper {
     }
 
     public ClientResponse toDto(Client client){
-        return new ClientResponse(client.getId(), client.getName(), client.getIdentityId());
+        return new ClientResponse(client.getId(), client.getName(), client.getIdentityId(), client.getVersion());
     }
 }
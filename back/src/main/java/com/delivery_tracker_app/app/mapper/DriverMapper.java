@@ -24,6 +24,6 @@ public class DriverMapper {
     }
 
     public DriverResponse toDto(Driver driver){
-        return new DriverResponse(driver.getId(), driver.getName(), driver.getPlateNumber());
+        return new DriverResponse(driver.getId(), driver.getName(), driver.getPlateNumber(), driver.getVersion());
     }
 }
@@ -0,0 +1,196 @@
+package com.delivery_tracker_app.app.mapper;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes transport logs as RFC 4180 CSV, one row at a time, straight to a {@link Writer},
+ * and reads the same format back record by record for imports.
+ */
+@Component
+public class TransportLogCsvMapper {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "loadDate", "loadLocation", "unloadDate", "unloadLocation", "destinationName", "deliveryNote",
+            "clientId", "clientName", "clientIdentityId", "driverId", "driverName", "driverPlateNumber",
+            "advance", "fuelQuantity", "fuelPricePerLiter", "variableCharge", "chargePrice", "clientTariff", "tripPrice",
+            "operator", "commercial"
+    );
+
+    private static final char SEPARATOR = ',';
+    private static final String LINE_END = "\r\n";
+
+    public void writeHeader(Writer out) throws IOException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                out.write(SEPARATOR);
+            }
+            out.write(COLUMNS.get(i));
+        }
+        out.write(LINE_END);
+    }
+
+    public void writeRow(TransportLog log, Writer out) throws IOException {
+        Client client = log.getClient();
+        Driver driver = log.getDriver();
+
+        write(out, log.getId());
+        write(out, log.getLoadDate());
+        write(out, log.getLoadLocation());
+        write(out, log.getUnloadDate());
+        write(out, log.getUnloadLocation());
+        write(out, log.getDestinationName());
+        write(out, log.getDeliveryNote());
+        write(out, client != null ? client.getId() : null);
+        write(out, client != null ? client.getName() : null);
+        write(out, client != null ? client.getIdentityId() : null);
+        write(out, driver != null ? driver.getId() : null);
+        write(out, driver != null ? driver.getName() : null);
+        write(out, driver != null ? driver.getPlateNumber() : null);
+        write(out, log.getAdvance());
+        write(out, log.getFuelQuantity());
+        write(out, log.getFuelPricePerLiter());
+        write(out, log.getVariableCharge());
+        write(out, log.getChargePrice());
+        write(out, log.getClientTariff());
+        write(out, log.getTripPrice());
+        write(out, log.getOperator());
+        out.write(escape(log.getCommercial()));
+        out.write(LINE_END);
+    }
+
+    /**
+     * Reads the next CSV record, honouring quoted fields that contain separators, quotes or line breaks.
+     * Returns {@code null} at end of input.
+     */
+    public List<String> readRecord(Reader in) throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>(COLUMNS.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    /**
+     * Builds a create request from a record, looking values up by header name. Client and driver
+     * are resolved by the caller, since a file may reference them by id or by natural key.
+     *
+     * @throws IllegalArgumentException if a date or amount cannot be parsed
+     */
+    public CreateTransportLogRequest toCreateRequest(Map<String, Integer> header, List<String> record,
+                                                     Long clientId, Long driverId) {
+        return new CreateTransportLogRequest(
+                clientId,
+                driverId,
+                date(field(header, record, "loadDate")),
+                field(header, record, "loadLocation"),
+                date(field(header, record, "unloadDate")),
+                field(header, record, "unloadLocation"),
+                field(header, record, "destinationName"),
+                field(header, record, "deliveryNote"),
+                amount(field(header, record, "advance")),
+                quantity(field(header, record, "fuelQuantity")),
+                amount(field(header, record, "fuelPricePerLiter")),
+                amount(field(header, record, "variableCharge")),
+                amount(field(header, record, "chargePrice")),
+                amount(field(header, record, "clientTariff")),
+                amount(field(header, record, "tripPrice")),
+                field(header, record, "operator"),
+                field(header, record, "commercial")
+        );
+    }
+
+    /** Returns the trimmed value of a column, or {@code null} when the column is missing or empty. */
+    public String field(Map<String, Integer> header, List<String> record, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return value == null ? null : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date '" + value + "'");
+        }
+    }
+
+    private static Money amount(String value) {
+        return value == null ? null : Money.parse(value);
+    }
+
+    private static BigDecimal quantity(String value) {
+        try {
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid quantity '" + value + "'");
+        }
+    }
+
+    private static void write(Writer out, Object value) throws IOException {
+        out.write(escape(value));
+        out.write(SEPARATOR);
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        String text = value.toString();
+        if (text.indexOf(SEPARATOR) < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
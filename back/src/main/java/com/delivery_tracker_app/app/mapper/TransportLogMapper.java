@@ -1,12 +1,17 @@
 package com.delivery_tracker_app.app.mapper;
 
+import com.delivery_tracker_app.app.dto.v1.analytics.TransportLogFacts;
 import com.delivery_tracker_app.app.dto.v1.client.ClientResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.DriverResponse;
 import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.PatchTransportLogRequest;
 import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogRow;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
 import com.delivery_tracker_app.app.dto.v1.transportLog.UpdateTransportLogRequest;
 import com.delivery_tracker_app.app.entity.Client;
 import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
 import com.delivery_tracker_app.app.entity.TransportLog;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -40,33 +45,81 @@ public class TransportLogMapper {
                 .build();
     }
 
-    public TransportLog toEntity(UpdateTransportLogRequest request, Client client, Driver driver){
-        return TransportLog.builder()
-                .id(request.id())
-                .client(client)
-                .driver(driver)
-                .loadDate(request.loadDate())
-                .loadLocation(request.loadLocation())
-                .unloadDate(request.unloadDate())
-                .unloadLocation(request.unloadLocation())
-                .destinationName(request.destinationName())
-                .deliveryNote(request.deliveryNote())
-                .advance(request.advance())
-                .fuelQuantity(request.fuelQuantity())
-                .fuelPricePerLiter(request.fuelPricePerLiter())
-                .variableCharge(request.variableCharge())
-                .chargePrice(request.chargePrice())
-                .clientTariff(request.clientTariff())
-                .tripPrice(request.tripPrice())
-                .operator(request.operator())
-                .commercial(request.commercial())
-                .build();
+    // Copies onto a managed entity so dirty checking writes the changes, no merge needed
+    public void updateEntity(TransportLog target, UpdateTransportLogRequest request){
+        target.setLoadDate(request.loadDate());
+        target.setLoadLocation(request.loadLocation());
+        target.setUnloadDate(request.unloadDate());
+        target.setUnloadLocation(request.unloadLocation());
+        target.setDestinationName(request.destinationName());
+        target.setDeliveryNote(request.deliveryNote());
+        target.setAdvance(request.advance());
+        target.setFuelQuantity(request.fuelQuantity());
+        target.setFuelPricePerLiter(request.fuelPricePerLiter());
+        target.setVariableCharge(request.variableCharge());
+        target.setChargePrice(request.chargePrice());
+        target.setClientTariff(request.clientTariff());
+        target.setTripPrice(request.tripPrice());
+        target.setOperator(request.operator());
+        target.setCommercial(request.commercial());
+    }
+
+    public void patchEntity(TransportLog target, PatchTransportLogRequest request){
+        if (request.loadDate() != null) target.setLoadDate(request.loadDate());
+        if (request.loadLocation() != null) target.setLoadLocation(request.loadLocation());
+        if (request.unloadDate() != null) target.setUnloadDate(request.unloadDate());
+        if (request.unloadLocation() != null) target.setUnloadLocation(request.unloadLocation());
+        if (request.destinationName() != null) target.setDestinationName(request.destinationName());
+        if (request.deliveryNote() != null) target.setDeliveryNote(request.deliveryNote());
+        if (request.advance() != null) target.setAdvance(request.advance());
+        if (request.fuelQuantity() != null) target.setFuelQuantity(request.fuelQuantity());
+        if (request.fuelPricePerLiter() != null) target.setFuelPricePerLiter(request.fuelPricePerLiter());
+        if (request.variableCharge() != null) target.setVariableCharge(request.variableCharge());
+        if (request.chargePrice() != null) target.setChargePrice(request.chargePrice());
+        if (request.clientTariff() != null) target.setClientTariff(request.clientTariff());
+        if (request.tripPrice() != null) target.setTripPrice(request.tripPrice());
+        if (request.operator() != null) target.setOperator(request.operator());
+        if (request.commercial() != null) target.setCommercial(request.commercial());
+    }
+
+    public TransportLogTextDocument toTextDocument(TransportLog transportLog){
+        return new TransportLogTextDocument(
+                transportLog.getId(),
+                transportLog.getLoadLocation(),
+                transportLog.getUnloadLocation(),
+                transportLog.getDestinationName(),
+                transportLog.getDeliveryNote()
+        );
+    }
+
+    // Associations are read through their ids, which does not initialize lazy proxies
+    public TransportLogFacts toFacts(TransportLog transportLog){
+        return new TransportLogFacts(
+                transportLog.getId(),
+                transportLog.getVersion() != null ? transportLog.getVersion() : 0L,
+                transportLog.getClient() != null ? transportLog.getClient().getId() : null,
+                transportLog.getDriver() != null ? transportLog.getDriver().getId() : null,
+                transportLog.getLoadDate(),
+                transportLog.getOperator(),
+                transportLog.getCommercial(),
+                cents(transportLog.getAdvance()),
+                TransportLogFacts.hundredths(transportLog.getFuelQuantity()),
+                cents(transportLog.getFuelPricePerLiter()),
+                cents(transportLog.getVariableCharge()),
+                cents(transportLog.getChargePrice()),
+                cents(transportLog.getClientTariff()),
+                cents(transportLog.getTripPrice())
+        );
+    }
+
+    private static long cents(Money amount){
+        return amount != null ? amount.minorUnits() : 0;
     }
 
     public TransportLogResponse toDto(TransportLog transportLog){
 
-        ClientResponse clientResponse = clientMapper.toDto(transportLog.getClient());
-        DriverResponse driverResponse = driverMapper.toDto(transportLog.getDriver());
+        ClientResponse clientResponse = transportLog.getClient() != null ? clientMapper.toDto(transportLog.getClient()) : null;
+        DriverResponse driverResponse = transportLog.getDriver() != null ? driverMapper.toDto(transportLog.getDriver()) : null;
 
         return new TransportLogResponse(
                 transportLog.getId(),
@@ -86,7 +139,36 @@ public class TransportLogMapper {
                 transportLog.getClientTariff(),
                 transportLog.getTripPrice(),
                 transportLog.getOperator(),
-                transportLog.getCommercial()
+                transportLog.getCommercial(),
+                transportLog.getVersion()
+        );
+    }
+
+    public TransportLogResponse toDto(TransportLogRow row){
+        return new TransportLogResponse(
+                row.id(),
+                row.clientId() != null
+                        ? new ClientResponse(row.clientId(), row.clientName(), row.clientIdentityId(), row.clientVersion())
+                        : null,
+                row.driverId() != null
+                        ? new DriverResponse(row.driverId(), row.driverName(), row.driverPlateNumber(), row.driverVersion())
+                        : null,
+                row.loadDate(),
+                row.loadLocation(),
+                row.unloadDate(),
+                row.unloadLocation(),
+                row.destinationName(),
+                row.deliveryNote(),
+                row.advance(),
+                row.fuelQuantity(),
+                row.fuelPricePerLiter(),
+                row.variableCharge(),
+                row.chargePrice(),
+                row.clientTariff(),
+                row.tripPrice(),
+                row.operator(),
+                row.commercial(),
+                row.version()
         );
     }
 }
@@ -1,7 +1,51 @@
 package com.delivery_tracker_app.app.repository;
 
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.ReferenceKey;
 import com.delivery_tracker_app.app.entity.Driver;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface DriverRepo extends JpaRepository<Driver, Long> {
+
+    // Query results below go to the "reference-queries" region and are invalidated by any write to the table
+    @Override
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
+    Page<Driver> findAll(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
+    @Query("select new com.delivery_tracker_app.app.dto.v1.common.ReferenceKey(d.id, d.plateNumber) from Driver d")
+    List<ReferenceKey> findAllReferenceKeys();
+
+    @Query("""
+            select new com.delivery_tracker_app.app.dto.v1.common.LookupItem(d.id, concat(d.name, ' (', d.plateNumber, ')'))
+            from Driver d order by d.name, d.id
+            """)
+    List<LookupItem> findAllLookupItems();
+
+    @Query("select d.version from Driver d where d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Slice return type: Spring Data fetches size + 1 rows and skips the count query
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
+    Slice<Driver> findAllBy(Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package com.delivery_tracker_app.app.repository;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkUpdateRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogSearchCriteria;
+
+import java.util.Collection;
+
+/**
+ * Set-based updates and deletes: one statement for all matching rows, no entity is loaded.
+ * An empty id collection or a null criteria means that part of the filter is not applied.
+ */
+public interface TransportLogBulkOperations {
+
+    int updateMatching(Collection<Long> ids, TransportLogSearchCriteria criteria, TransportLogBulkUpdateRequest changes);
+
+    int deleteMatching(Collection<Long> ids, TransportLogSearchCriteria criteria);
+}
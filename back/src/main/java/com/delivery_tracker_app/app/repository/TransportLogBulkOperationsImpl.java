@@ -0,0 +1,77 @@
+package com.delivery_tracker_app.app.repository;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkUpdateRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogSearchCriteria;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link TransportLogBulkOperations}, picked up by Spring Data as a
+ * fragment of {@link TransportLogRepo}. Filters reuse {@link TransportLogSpecifications} so bulk
+ * statements select exactly what the search endpoint would return.
+ */
+class TransportLogBulkOperationsImpl implements TransportLogBulkOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateMatching(Collection<Long> ids, TransportLogSearchCriteria criteria, TransportLogBulkUpdateRequest changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<TransportLog> update = cb.createCriteriaUpdate(TransportLog.class);
+        Root<TransportLog> root = update.from(TransportLog.class);
+
+        setIfPresent(update, root, "advance", changes.advance());
+        setIfPresent(update, root, "fuelQuantity", changes.fuelQuantity());
+        setIfPresent(update, root, "fuelPricePerLiter", changes.fuelPricePerLiter());
+        setIfPresent(update, root, "variableCharge", changes.variableCharge());
+        setIfPresent(update, root, "chargePrice", changes.chargePrice());
+        setIfPresent(update, root, "clientTariff", changes.clientTariff());
+        setIfPresent(update, root, "tripPrice", changes.tripPrice());
+        setIfPresent(update, root, "operator", changes.operator());
+        setIfPresent(update, root, "commercial", changes.commercial());
+        // Bulk statements bypass Hibernate's versioning, bump it here so ETags handed out earlier go stale
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        update.where(filter(cb, root, ids, criteria));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteMatching(Collection<Long> ids, TransportLogSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<TransportLog> delete = cb.createCriteriaDelete(TransportLog.class);
+        Root<TransportLog> root = delete.from(TransportLog.class);
+
+        delete.where(filter(cb, root, ids, criteria));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    private static Predicate[] filter(CriteriaBuilder cb, Root<TransportLog> root,
+                                      Collection<Long> ids, TransportLogSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (ids != null && !ids.isEmpty()) {
+            predicates.add(root.get("id").in(ids));
+        }
+        if (criteria != null) {
+            predicates.addAll(TransportLogSpecifications.predicates(root, cb, criteria));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static <T> void setIfPresent(CriteriaUpdate<TransportLog> update, Root<TransportLog> root, String attribute, T value) {
+        if (value != null) {
+            update.set(root.<T>get(attribute), value);
+        }
+    }
+}
@@ -1,7 +1,114 @@
 package com.delivery_tracker_app.app.repository;
 
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogRow;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogVersions;
 import com.delivery_tracker_app.app.entity.TransportLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TransportLogRepo extends JpaRepository<TransportLog, Long> {
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TransportLogRepo extends JpaRepository<TransportLog, Long>, JpaSpecificationExecutor<TransportLog>,
+        TransportLogBulkOperations {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Client and driver are optional: every read joins them with left joins, or logs without one would be skipped
+    String ROW_SELECT = """
+            select new com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogRow(
+                t.id, c.id, c.name, c.identityId, d.id, d.name, d.plateNumber,
+                t.loadDate, t.loadLocation, t.unloadDate, t.unloadLocation, t.destinationName, t.deliveryNote,
+                t.advance, t.fuelQuantity, t.fuelPricePerLiter, t.variableCharge, t.chargePrice,
+                t.clientTariff, t.tripPrice, t.operator, t.commercial, t.version, c.version, d.version)
+            from TransportLog t left join t.client c left join t.driver d
+            """;
+
+    // Read-only projections: rows go straight into TransportLogRow without entity hydration
+    // or dirty-checking snapshots. Slice return type: Spring Data fetches size + 1 rows to
+    // derive hasNext and never runs a count query.
+    @Query(ROW_SELECT)
+    Slice<TransportLogRow> findRowSlice(Pageable pageable);
+
+    @Query(ROW_SELECT + " where t.id = :id")
+    Optional<TransportLogRow> findRowById(@Param("id") Long id);
+
+    @Query(ROW_SELECT + " where t.id in :ids")
+    List<TransportLogRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The response embeds the client and driver, so its ETag covers all three versions
+    @Query("""
+            select new com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogVersions(t.version, c.version, d.version)
+            from TransportLog t left join t.client c left join t.driver d where t.id = :id
+            """)
+    Optional<TransportLogVersions> findVersionsById(@Param("id") Long id);
+
+    @Query("""
+            select new com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument(
+                t.id, t.loadLocation, t.unloadLocation, t.destinationName, t.deliveryNote)
+            from TransportLog t where t.id = :id
+            """)
+    Optional<TransportLogTextDocument> findTextDocumentById(@Param("id") Long id);
+
+    // Single DELETE ... WHERE id = ?, unlike deleteById which selects the row first
+    @Modifying
+    @Query("delete from TransportLog t where t.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    // Client and driver are lazy; every read that ends up in TransportLogMapper.toDto
+    // fetches them in the same statement to avoid one extra select per row.
+    @Override
+    @EntityGraph(attributePaths = {"client", "driver"})
+    Page<TransportLog> findAll(Specification<TransportLog> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"client", "driver"})
+    Optional<TransportLog> findWithClientAndDriverById(Long id);
+
+    // Keyset pagination: both queries walk idx_transport_log_load_date_id, so the cost of a page
+    // does not depend on how deep it is. The redundant bound on loadDate lets PostgreSQL prune
+    // newer partitions, which it cannot derive from the row comparison.
+    @Query("select t from TransportLog t left join fetch t.client left join fetch t.driver order by t.loadDate desc, t.id desc")
+    List<TransportLog> findFirstKeysetPage(Limit limit);
+
+    @Query("""
+            select t from TransportLog t left join fetch t.client left join fetch t.driver
+            where t.loadDate <= :loadDate and (t.loadDate, t.id) < (:loadDate, :id)
+            order by t.loadDate desc, t.id desc
+            """)
+    List<TransportLog> findKeysetPageAfter(@Param("loadDate") LocalDate loadDate, @Param("id") Long id, Limit limit);
+
+    // Cursor-backed stream for exports: must be consumed inside a read-only transaction and closed.
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TransportLog t left join fetch t.client left join fetch t.driver order by t.id")
+    Stream<TransportLog> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t from TransportLog t left join fetch t.client left join fetch t.driver
+            where t.loadDate between :from and :to
+            order by t.loadDate, t.id
+            """)
+    Stream<TransportLog> streamByLoadDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
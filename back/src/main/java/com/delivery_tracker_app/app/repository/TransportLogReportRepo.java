@@ -0,0 +1,49 @@
+package com.delivery_tracker_app.app.repository;
+
+import com.delivery_tracker_app.app.dto.v1.dashboard.DashboardTotals;
+import com.delivery_tracker_app.app.dto.v1.report.ClientMonthlyStatement;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregate queries over transport logs. Grouping and summing happen in the database, so the
+ * result size (and the work done in the JVM) depends on the number of groups, not rows.
+ */
+public interface TransportLogReportRepo extends Repository<TransportLog, Long> {
+
+    String CLIENT_MONTHLY_SELECT = """
+            select new com.delivery_tracker_app.app.dto.v1.report.ClientMonthlyStatement(
+                c.id, c.name, extract(year from t.loadDate), extract(month from t.loadDate), count(t),
+                sum(t.advance), sum(t.fuelQuantity * t.fuelPricePerLiter), sum(t.variableCharge),
+                sum(t.chargePrice), sum(t.clientTariff), sum(t.tripPrice))
+            from TransportLog t join t.client c
+            """;
+
+    String CLIENT_MONTHLY_GROUP = """
+             group by c.id, c.name, extract(year from t.loadDate), extract(month from t.loadDate)
+             order by c.name, c.id, extract(year from t.loadDate), extract(month from t.loadDate)
+            """;
+
+    // Range on load_date is served by idx_transport_log_load_date_id
+    @Query(CLIENT_MONTHLY_SELECT + " where t.loadDate >= :from and t.loadDate < :until" + CLIENT_MONTHLY_GROUP)
+    List<ClientMonthlyStatement> aggregateByClientAndMonth(@Param("from") LocalDate from, @Param("until") LocalDate until);
+
+    // Client plus load_date range is served by idx_transport_log_client_load_date
+    @Query(CLIENT_MONTHLY_SELECT + " where c.id = :clientId and t.loadDate >= :from and t.loadDate < :until" + CLIENT_MONTHLY_GROUP)
+    List<ClientMonthlyStatement> aggregateByClientAndMonthForClient(@Param("clientId") Long clientId,
+                                                                    @Param("from") LocalDate from,
+                                                                    @Param("until") LocalDate until);
+
+    @Query("""
+            select new com.delivery_tracker_app.app.dto.v1.dashboard.DashboardTotals(
+                count(t), sum(t.clientTariff), sum(t.tripPrice))
+            from TransportLog t
+            where t.loadDate >= :from and t.loadDate < :until
+            """)
+    DashboardTotals summarizeLoadDateRange(@Param("from") LocalDate from, @Param("until") LocalDate until);
+}
@@ -0,0 +1,68 @@
+package com.delivery_tracker_app.app.repository;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogSearchCriteria;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds transport log filters. Every supported criterion is an equality or a range on a column
+ * covered by one of the indexes declared on {@link TransportLog}; text filters are exact matches
+ * for the same reason.
+ */
+public final class TransportLogSpecifications {
+
+    private TransportLogSpecifications() {
+    }
+
+    public static Specification<TransportLog> matching(TransportLogSearchCriteria criteria) {
+        return (root, query, cb) -> cb.and(predicates(root, cb, criteria).toArray(Predicate[]::new));
+    }
+
+    public static boolean isEmpty(TransportLogSearchCriteria criteria) {
+        return criteria.clientId() == null && criteria.driverId() == null
+                && criteria.loadDateFrom() == null && criteria.loadDateTo() == null
+                && criteria.unloadDateFrom() == null && criteria.unloadDateTo() == null
+                && !StringUtils.hasText(criteria.destinationName())
+                && !StringUtils.hasText(criteria.operator())
+                && !StringUtils.hasText(criteria.commercial());
+    }
+
+    static List<Predicate> predicates(Root<TransportLog> root, CriteriaBuilder cb, TransportLogSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.clientId() != null) {
+            predicates.add(cb.equal(root.get("client").get("id"), criteria.clientId()));
+        }
+        if (criteria.driverId() != null) {
+            predicates.add(cb.equal(root.get("driver").get("id"), criteria.driverId()));
+        }
+        if (criteria.loadDateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("loadDate"), criteria.loadDateFrom()));
+        }
+        if (criteria.loadDateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("loadDate"), criteria.loadDateTo()));
+        }
+        if (criteria.unloadDateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("unloadDate"), criteria.unloadDateFrom()));
+        }
+        if (criteria.unloadDateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("unloadDate"), criteria.unloadDateTo()));
+        }
+        if (StringUtils.hasText(criteria.destinationName())) {
+            predicates.add(cb.equal(root.get("destinationName"), criteria.destinationName()));
+        }
+        if (StringUtils.hasText(criteria.operator())) {
+            predicates.add(cb.equal(root.get("operator"), criteria.operator()));
+        }
+        if (StringUtils.hasText(criteria.commercial())) {
+            predicates.add(cb.equal(root.get("commercial"), criteria.commercial()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,8 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsQuery;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsResult;
+
+public interface AnalyticsService {
+    AnalyticsResult query(AnalyticsQuery query);
+}
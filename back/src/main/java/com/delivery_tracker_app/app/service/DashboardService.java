@@ -0,0 +1,7 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.dashboard.DashboardSummary;
+
+public interface DashboardService {
+    DashboardSummary getSummary(int latest);
+}
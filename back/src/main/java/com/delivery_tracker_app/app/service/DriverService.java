@@ -1,6 +1,8 @@
 package com.delivery_tracker_app.app.service;
 
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.CreateDriverRequest;
 import com.delivery_tracker_app.app.dto.v1.driver.DriverResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.UpdateDriverRequest;
@@ -9,6 +11,9 @@ public interface DriverService {
     DriverResponse create(CreateDriverRequest req);
     DriverResponse update(UpdateDriverRequest req);
     PagedResponse<DriverResponse> getAll(int page, int size);
+    SliceResponse<DriverResponse> getSlice(int page, int size);
     DriverResponse getById(Long id);
+    String getETag(Long id);
+    LookupSnapshot getLookup();
     void delete(Long id);
 }
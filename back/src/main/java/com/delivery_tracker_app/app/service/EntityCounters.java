@@ -0,0 +1,113 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.config.CounterProperties;
+import com.delivery_tracker_app.app.repository.ClientRepo;
+import com.delivery_tracker_app.app.repository.DriverRepo;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory row counts per table, so hot read paths do not need a {@code COUNT(*)}.
+ * <p>
+ * Counts are loaded at startup and then adjusted by the service layer on create and delete.
+ * Inside a transaction the adjustment is applied only after commit, so rolled back writes do not skew it.
+ * Writes that bypass the services (SQL scripts, other instances) are absorbed by the periodic
+ * {@link #reconcile()}, which on PostgreSQL can read planner estimates instead of counting rows.
+ * The values are therefore estimates and are reported as such.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCounters {
+
+    @Getter
+    public enum CountedTable {
+        CLIENT("client"),
+        DRIVER("driver"),
+        TRANSPORT_LOG("transport_log");
+
+        private final String tableName;
+
+        CountedTable(String tableName) {
+            this.tableName = tableName;
+        }
+    }
+
+    private final ClientRepo clientRepo;
+    private final DriverRepo driverRepo;
+    private final TransportLogRepo transportLogRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final CounterProperties counterProperties;
+
+    private static final String PLANNER_ESTIMATE = """
+            select case when exists (select 1 from pg_partitioned_table where partrelid = t.oid)
+                        then (select case when bool_or(p.reltuples < 0) then -1 else coalesce(sum(p.reltuples), 0) end
+                              from pg_inherits i join pg_class p on p.oid = i.inhrelid
+                              where i.inhparent = t.oid)
+                        else t.reltuples
+                   end::bigint
+            from pg_class t where t.oid = to_regclass(?)
+            """;
+
+    private final Map<CountedTable, AtomicLong> counts = new EnumMap<>(Map.of(
+            CountedTable.CLIENT, new AtomicLong(),
+            CountedTable.DRIVER, new AtomicLong(),
+            CountedTable.TRANSPORT_LOG, new AtomicLong()
+    ));
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.counters.reconcile-interval:PT5M}",
+               fixedDelayString = "${app.counters.reconcile-interval:PT5M}")
+    public void reconcile() {
+        counts.get(CountedTable.CLIENT).set(countRows(CountedTable.CLIENT, clientRepo));
+        counts.get(CountedTable.DRIVER).set(countRows(CountedTable.DRIVER, driverRepo));
+        counts.get(CountedTable.TRANSPORT_LOG).set(countRows(CountedTable.TRANSPORT_LOG, transportLogRepo));
+        log.debug("Entity counters reconciled: {}", counts);
+    }
+
+    private long countRows(CountedTable table, JpaRepository<?, ?> repo) {
+        if (counterProperties.isPlannerStatistics()) {
+            // reltuples is maintained by VACUUM/ANALYZE; -1 means the table was never analyzed.
+            // A partitioned parent holds no rows and keeps its last value, so its partitions are summed
+            List<Long> estimate = jdbcTemplate.query(PLANNER_ESTIMATE,
+                    (rs, rowNum) -> rs.getLong(1), table.getTableName());
+            if (!estimate.isEmpty() && estimate.get(0) >= 0) {
+                return estimate.get(0);
+            }
+        }
+        return repo.count();
+    }
+
+    public long get(CountedTable table) {
+        return counts.get(table).get();
+    }
+
+    public void increment(CountedTable table, long delta) {
+        adjust(table, delta);
+    }
+
+    public void decrement(CountedTable table, long delta) {
+        adjust(table, -delta);
+    }
+
+    private void adjust(CountedTable table, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        AtomicLong count = counts.get(table);
+        AfterCommit.run(() -> count.addAndGet(delta));
+    }
+}
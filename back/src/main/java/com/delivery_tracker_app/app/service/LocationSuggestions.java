@@ -0,0 +1,115 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.LocationSuggestion;
+import com.delivery_tracker_app.app.dto.v1.transportLog.SuggestionField;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autocomplete for the location fields of transport logs, one {@link SuggestionIndex} per field.
+ * <p>
+ * The indexes are built from the distinct values and their usage counts at startup and adjusted
+ * by the service layer after each committed create, update or delete. Bulk deletes and archiving
+ * do not know the removed values and trigger a rebuild; the periodic one, on the text search reload
+ * interval, absorbs writes made outside this instance.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationSuggestions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor applicationTaskExecutor;
+
+    private final ReloadableView<Map<SuggestionField, SuggestionIndex>> indexes = new ReloadableView<>(emptyIndexes());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.reload-interval:PT30M}",
+               fixedDelayString = "${app.search.reload-interval:PT30M}")
+    public void rebuild() {
+        Map<SuggestionField, SuggestionIndex> loaded = indexes.reload(previous -> {
+            Map<SuggestionField, SuggestionIndex> fresh = new EnumMap<>(SuggestionField.class);
+            for (SuggestionField field : SuggestionField.values()) {
+                Map<String, Integer> counts = new HashMap<>();
+                jdbcTemplate.query("select " + field.column() + ", count(*) from transport_log"
+                                + " where " + field.column() + " is not null group by " + field.column(),
+                        rs -> {
+                            counts.put(rs.getString(1), rs.getInt(2));
+                        });
+                fresh.put(field, SuggestionIndex.of(counts));
+            }
+            return fresh;
+        });
+        if (loaded != null) {
+            log.info("Location suggestions loaded: {} load locations, {} unload locations, {} destinations",
+                    loaded.get(SuggestionField.LOAD_LOCATION).size(), loaded.get(SuggestionField.UNLOAD_LOCATION).size(),
+                    loaded.get(SuggestionField.DESTINATION_NAME).size());
+        }
+    }
+
+    public List<LocationSuggestion> suggest(SuggestionField field, String prefix, int limit) {
+        return indexes.read(current -> current.get(field).suggest(prefix, limit));
+    }
+
+    /**
+     * Counts the values of newly created logs once the transaction commits.
+     */
+    public void added(Collection<TransportLogTextDocument> documents) {
+        List<TransportLogTextDocument> copy = List.copyOf(documents);
+        AfterCommit.run(() -> indexes.write(target -> copy.forEach(document -> apply(target, null, document))));
+    }
+
+    /**
+     * Removes one use of each value of deleted logs once the transaction commits.
+     */
+    public void removed(Collection<TransportLogTextDocument> documents) {
+        List<TransportLogTextDocument> copy = List.copyOf(documents);
+        AfterCommit.run(() -> indexes.write(target -> copy.forEach(document -> apply(target, document, null))));
+    }
+
+    // Logs removed without their values being known, e.g. a bulk delete by criteria
+    public void invalidate() {
+        AfterCommit.run(() -> applicationTaskExecutor.execute(this::rebuild));
+    }
+
+    /**
+     * Moves one use from each old value to the new one once the transaction commits.
+     */
+    public void changed(TransportLogTextDocument before, TransportLogTextDocument after) {
+        AfterCommit.run(() -> indexes.write(target -> apply(target, before, after)));
+    }
+
+    private static Map<SuggestionField, SuggestionIndex> emptyIndexes() {
+        Map<SuggestionField, SuggestionIndex> empty = new EnumMap<>(SuggestionField.class);
+        for (SuggestionField field : SuggestionField.values()) {
+            empty.put(field, SuggestionIndex.empty());
+        }
+        return empty;
+    }
+
+    private static void apply(Map<SuggestionField, SuggestionIndex> target,
+                              TransportLogTextDocument before, TransportLogTextDocument after) {
+        for (SuggestionField field : SuggestionField.values()) {
+            String oldValue = field.valueOf(before);
+            String newValue = field.valueOf(after);
+            if (oldValue != null && oldValue.equals(newValue)) {
+                continue;
+            }
+            target.get(field).add(oldValue, -1);
+            target.get(field).add(newValue, 1);
+        }
+    }
+}
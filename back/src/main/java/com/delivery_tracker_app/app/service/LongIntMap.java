@@ -0,0 +1,114 @@
+package com.delivery_tracker_app.app.service;
+
+import java.util.Arrays;
+
+/**
+ * Map from {@code long} keys to non-negative {@code int} values without boxing, for tables with
+ * millions of entries. Open addressing with linear probing; removal shifts the following entries
+ * back instead of leaving tombstones. Not thread-safe.
+ */
+public final class LongIntMap {
+
+    private static final int ABSENT = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The value for the key, or -1 when there is none.
+     */
+    public int get(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            int value = values[i];
+            if (value == ABSENT || keys[i] == key) {
+                return value;
+            }
+        }
+    }
+
+    public void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("values must not be negative");
+        }
+        int i = index(key);
+        for (; values[i] != ABSENT; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > values.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Removes the key and returns its value, or -1 when there was none.
+     */
+    public int remove(long key) {
+        int i = index(key);
+        for (; values[i] != ABSENT; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                break;
+            }
+        }
+        int removed = values[i];
+        if (removed == ABSENT) {
+            return ABSENT;
+        }
+        // Move back every later entry of the run whose home slot does not lie after the hole
+        int hole = i;
+        for (int j = (hole + 1) & mask; values[j] != ABSENT; j = (j + 1) & mask) {
+            int home = index(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = ABSENT;
+        size--;
+        return removed;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(values.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int j = index(oldKeys[i]);
+                while (values[j] != ABSENT) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+    }
+}
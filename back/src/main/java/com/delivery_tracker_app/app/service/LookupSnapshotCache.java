@@ -0,0 +1,60 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current {@link LookupSnapshot} of a table and rebuilds it lazily after a write.
+ * <p>
+ * Reads are a single volatile read. Writers call {@link #invalidate()} once their transaction has
+ * committed; the next reader reloads the list. A rebuild that overlaps a write is returned to its caller
+ * but not kept, so a snapshot taken before the write can never outlive it, provided the loader reads the
+ * primary rather than a replica that may not have the write yet. Snapshots also expire after {@code maxAge} to pick up writes made by
+ * other instances.
+ */
+public final class LookupSnapshotCache {
+
+    private final Supplier<List<LookupItem>> loader;
+    private final Duration maxAge;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile LookupSnapshot snapshot;
+
+    public LookupSnapshotCache(Supplier<List<LookupItem>> loader, Duration maxAge) {
+        this.loader = loader;
+        this.maxAge = maxAge;
+    }
+
+    public LookupSnapshot get() {
+        LookupSnapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long expectedGeneration = generation.get();
+            LookupSnapshot rebuilt = LookupSnapshot.of(loader.get());
+            if (generation.get() == expectedGeneration) {
+                snapshot = rebuilt;
+            }
+            return rebuilt;
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private boolean isFresh(LookupSnapshot current) {
+        return current != null && current.builtAt().plus(maxAge).isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,110 @@
+package com.delivery_tracker_app.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * An in-memory view of a table, kept current by incremental writes and rebuilt from the table by
+ * {@link #reload}.
+ * <p>
+ * A reload reads the table without holding the lock, so writes keep being applied to the current
+ * view meanwhile. They are also recorded and replayed onto the new view before it is swapped in,
+ * so a write committed while the table was being read is never lost. Only one reload runs at a
+ * time; a failed one keeps serving the old view, which already has the recorded writes.
+ *
+ * @param <T> the view, mutated in place by writes and only ever accessed under the lock
+ */
+public final class ReloadableView<T> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Writes seen while a reload reads the table, replayed onto the new view before it is swapped in
+    private final List<Consumer<T>> pendingDuringReload = new ArrayList<>();
+    private boolean reloading;
+    private T current;
+
+    public ReloadableView(T initial) {
+        this.current = initial;
+    }
+
+    /**
+     * Runs the reader under the read lock; the view is null until the first reload when created without one.
+     */
+    public <R> R read(Function<T, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the change to the current view, if any, and to the one a running reload is building.
+     */
+    public void write(Consumer<T> change) {
+        lock.writeLock().lock();
+        try {
+            if (current != null) {
+                change.accept(current);
+            }
+            if (reloading) {
+                pendingDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new view and swaps it in, returning it, or null when another reload is already running.
+     */
+    public T reload(UnaryOperator<T> loader) {
+        return reload(loader, swapped -> {
+        });
+    }
+
+    /**
+     * Same as {@link #reload(UnaryOperator)}; {@code onSwap} runs under the write lock right after the
+     * swap, for state that readers must see together with the new view.
+     *
+     * @param loader called with the current view and returns the new one, without holding the lock
+     */
+    public T reload(UnaryOperator<T> loader, Consumer<T> onSwap) {
+        T previous;
+        lock.writeLock().lock();
+        try {
+            if (reloading) {
+                return null;
+            }
+            reloading = true;
+            previous = current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            T fresh = loader.apply(previous);
+            lock.writeLock().lock();
+            try {
+                pendingDuringReload.forEach(change -> change.accept(fresh));
+                current = fresh;
+                onSwap.accept(fresh);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return fresh;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingDuringReload.clear();
+                reloading = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
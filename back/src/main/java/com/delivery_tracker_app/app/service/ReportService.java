@@ -0,0 +1,10 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.report.ClientMonthlyStatement;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+    List<ClientMonthlyStatement> getClientStatements(LocalDate from, LocalDate to, Long clientId);
+}
@@ -0,0 +1,215 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.LocationSuggestion;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Prefix lookup over a set of values ranked by how often they were used.
+ * <p>
+ * Values are kept in three parallel arrays sorted by their folded form, so every value starting
+ * with a prefix sits in one contiguous range found by binary search; 100k locations take a few
+ * megabytes. Counts of known values are bumped in place. Values never seen before go to a small
+ * sorted overlay that is merged into the arrays once it grows, which keeps writes cheap without
+ * rebuilding the arrays on every new value.
+ * <p>
+ * Lookups never lock. Writes are serialized, which suits the rate at which logs are entered.
+ */
+public final class SuggestionIndex {
+
+    static final int MERGE_THRESHOLD = 1024;
+
+    private volatile Snapshot snapshot;
+
+    private SuggestionIndex(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public static SuggestionIndex empty() {
+        return of(Map.of());
+    }
+
+    /**
+     * Builds the index from values and how many times each was used; variants folding to the
+     * same key are merged and shown as their most used spelling.
+     */
+    public static SuggestionIndex of(Map<String, Integer> counts) {
+        Map<String, String> displays = new TreeMap<>();
+        Map<String, Integer> shown = new TreeMap<>();
+        Map<String, Integer> totals = new TreeMap<>();
+        counts.forEach((value, count) -> {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = TextFolding.fold(value.strip());
+            totals.merge(key, count, Integer::sum);
+            if (count > shown.getOrDefault(key, -1)) {
+                shown.put(key, count);
+                displays.put(key, value.strip());
+            }
+        });
+
+        String[] keys = totals.keySet().toArray(String[]::new);
+        String[] values = new String[keys.length];
+        int[] frequencies = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = displays.get(keys[i]);
+            frequencies[i] = totals.get(keys[i]);
+        }
+        return new SuggestionIndex(new Snapshot(keys, values, new AtomicIntegerArray(frequencies),
+                new ConcurrentSkipListMap<>()));
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current.keys.length + current.overlay.size();
+    }
+
+    /**
+     * The most used values starting with the prefix, ignoring case and accents; ties go to the
+     * alphabetically first value.
+     */
+    public List<LocationSuggestion> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String from = TextFolding.fold(prefix.strip());
+        TopK top = new TopK(limit);
+
+        int i = lowerBound(current.keys, from);
+        for (; i < current.keys.length && current.keys[i].startsWith(from); i++) {
+            top.offer(current.keys[i], current.values[i], current.counts.get(i));
+        }
+        for (Map.Entry<String, Entry> added : current.overlay.tailMap(from).entrySet()) {
+            if (!added.getKey().startsWith(from)) {
+                break;
+            }
+            top.offer(added.getKey(), added.getValue().value, added.getValue().count.get());
+        }
+        return top.toList();
+    }
+
+    /**
+     * Records that a value was used one more time, or one less when it was replaced.
+     */
+    public synchronized void add(String value, int delta) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        String key = TextFolding.fold(value.strip());
+        int i = Arrays.binarySearch(current.keys, key);
+        if (i >= 0) {
+            current.counts.getAndUpdate(i, count -> Math.max(0, count + delta));
+            return;
+        }
+        Entry entry = current.overlay.get(key);
+        if (entry != null) {
+            entry.count.getAndUpdate(count -> Math.max(0, count + delta));
+        } else if (delta > 0) {
+            current.overlay.put(key, new Entry(value.strip(), delta));
+            if (current.overlay.size() >= MERGE_THRESHOLD) {
+                snapshot = current.merged();
+            }
+        }
+    }
+
+    private static int lowerBound(String[] keys, String from) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(from) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Snapshot(String[] keys, String[] values, AtomicIntegerArray counts,
+                            ConcurrentSkipListMap<String, Entry> overlay) {
+
+        Snapshot merged() {
+            int size = keys.length + overlay.size();
+            String[] mergedKeys = new String[size];
+            String[] mergedValues = new String[size];
+            int[] mergedCounts = new int[size];
+            int i = 0;
+            int out = 0;
+            for (Map.Entry<String, Entry> added : overlay.entrySet()) {
+                for (; i < keys.length && keys[i].compareTo(added.getKey()) < 0; i++, out++) {
+                    mergedKeys[out] = keys[i];
+                    mergedValues[out] = values[i];
+                    mergedCounts[out] = counts.get(i);
+                }
+                mergedKeys[out] = added.getKey();
+                mergedValues[out] = added.getValue().value;
+                mergedCounts[out] = added.getValue().count.get();
+                out++;
+            }
+            for (; i < keys.length; i++, out++) {
+                mergedKeys[out] = keys[i];
+                mergedValues[out] = values[i];
+                mergedCounts[out] = counts.get(i);
+            }
+            return new Snapshot(mergedKeys, mergedValues, new AtomicIntegerArray(mergedCounts),
+                    new ConcurrentSkipListMap<>());
+        }
+    }
+
+    private static final class Entry {
+
+        private final String value;
+        private final AtomicInteger count;
+
+        Entry(String value, int count) {
+            this.value = value;
+            this.count = new AtomicInteger(count);
+        }
+    }
+
+    // Keeps the best few candidates of a range scan in a small sorted array
+    private static final class TopK {
+
+        private final LocationSuggestion[] best;
+        private final String[] bestKeys;
+        private int size;
+
+        TopK(int limit) {
+            this.best = new LocationSuggestion[limit];
+            this.bestKeys = new String[limit];
+        }
+
+        void offer(String key, String value, int count) {
+            if (count == 0 || best.length == 0) {
+                return;
+            }
+            if (size == best.length && !ranksBefore(count, key, size - 1)) {
+                return;
+            }
+            int at = size < best.length ? size++ : size - 1;
+            while (at > 0 && ranksBefore(count, key, at - 1)) {
+                best[at] = best[at - 1];
+                bestKeys[at] = bestKeys[at - 1];
+                at--;
+            }
+            best[at] = new LocationSuggestion(value, count);
+            bestKeys[at] = key;
+        }
+
+        private boolean ranksBefore(int count, String key, int slot) {
+            int other = best[slot].count();
+            return count > other || count == other && key.compareTo(bestKeys[slot]) < 0;
+        }
+
+        List<LocationSuggestion> toList() {
+            return List.of(Arrays.copyOf(best, size));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.config.ArchiveProperties;
+import com.delivery_tracker_app.app.config.CacheConfig;
+import com.delivery_tracker_app.app.service.EntityCounters.CountedTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves transport logs older than {@code app.archive.horizon} from {@code transport_log} to
+ * {@code transport_log_archive}.
+ * <p>
+ * Rows are copied and deleted in batches of {@code app.archive.batch-size}, one transaction per
+ * batch, oldest first, so a run never holds many locks and can stop anywhere without leaving a
+ * log in both tables or in neither. The statements filter on {@code load_date} as well as on the
+ * ids, which keeps them on the oldest partitions once the table is partitioned.
+ */
+@Component
+@Slf4j
+public class TransportLogArchiver {
+
+    private static final String COLUMNS = """
+            id, client_id, driver_id, load_date, load_location, unload_date, unload_location,
+            destination_name, delivery_note, advance, fuel_quantity, fuel_price_per_liter, variable_charge,
+            charge_price, client_tariff, trip_price, operator, commercial, version""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties archiveProperties;
+    private final EntityCounters entityCounters;
+    private final TransportLogTextIndex transportLogTextIndex;
+    private final TransportLogAnalytics transportLogAnalytics;
+    private final LocationSuggestions locationSuggestions;
+    private final CacheManager cacheManager;
+    private final ObjectProvider<TransportLogPartitions> transportLogPartitions;
+
+    public TransportLogArchiver(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                ArchiveProperties archiveProperties, EntityCounters entityCounters,
+                                TransportLogTextIndex transportLogTextIndex, TransportLogAnalytics transportLogAnalytics,
+                                LocationSuggestions locationSuggestions, CacheManager cacheManager,
+                                ObjectProvider<TransportLogPartitions> transportLogPartitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveProperties = archiveProperties;
+        this.entityCounters = entityCounters;
+        this.transportLogTextIndex = transportLogTextIndex;
+        this.transportLogAnalytics = transportLogAnalytics;
+        this.locationSuggestions = locationSuggestions;
+        this.cacheManager = cacheManager;
+        this.transportLogPartitions = transportLogPartitions;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void archive() {
+        if (!archiveProperties.isEnabled()) {
+            return;
+        }
+        // Whole months only, so a month is never split between the two tables for long
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minus(archiveProperties.getHorizon()).withDayOfMonth(1);
+        int moved = archiveBefore(cutoff);
+        log.info("Archived {} transport logs loaded before {}", moved, cutoff);
+        transportLogPartitions.ifAvailable(partitions -> partitions.dropArchived(cutoff));
+    }
+
+    /**
+     * Archives the logs loaded before the cutoff, at most {@code app.archive.max-batches-per-run}
+     * batches, and returns how many were moved.
+     */
+    public int archiveBefore(LocalDate cutoff) {
+        int batchSize = archiveProperties.getBatchSize();
+        int moved = 0;
+        for (int batch = 0; batch < archiveProperties.getMaxBatchesPerRun(); batch++) {
+            Integer count = transactionTemplate.execute(status -> moveBatch(cutoff, batchSize));
+            moved += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        // Once per run rather than per batch: the batches only select ids, not the location values
+        if (moved > 0) {
+            locationSuggestions.invalidate();
+        }
+        return moved;
+    }
+
+    private int moveBatch(LocalDate cutoff, int batchSize) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize);
+        // Locking the batch keeps a concurrent update from slipping between the copy and the delete
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from transport_log where load_date < :cutoff order by load_date, id limit :limit for update",
+                params, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        params.addValue("ids", ids).addValue("archivedAt", Timestamp.from(Instant.now()));
+        jdbcTemplate.update("insert into transport_log_archive (" + COLUMNS + ", archived_at) select " + COLUMNS
+                + ", :archivedAt from transport_log where load_date < :cutoff and id in (:ids)", params);
+        int deleted = jdbcTemplate.update("delete from transport_log where load_date < :cutoff and id in (:ids)", params);
+
+        entityCounters.decrement(CountedTable.TRANSPORT_LOG, deleted);
+        transportLogTextIndex.remove(ids);
+        transportLogAnalytics.remove(ids);
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(CacheConfig.TRANSPORT_LOGS);
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        });
+        return deleted;
+    }
+}
@@ -0,0 +1,724 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsDimension;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsGroup;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsMeasure;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsQuery;
+import com.delivery_tracker_app.app.dto.v1.analytics.TransportLogFacts;
+import com.delivery_tracker_app.app.exception.BadRequestException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Transport logs held column by column in primitive arrays, for group-by queries that scan every
+ * row.
+ * <p>
+ * Clients, drivers, operators and commercials are stored as small dense codes from per-column
+ * dictionaries, code 0 standing for a missing value; amounts are {@code long} cents. A row takes
+ * about 120 bytes including the id lookup, against several hundred as entities. Deleted rows are
+ * replaced by the last one, so the arrays stay packed and scans never skip holes.
+ * <p>
+ * Scans split the rows into ranges aggregated in parallel on a fork-join pool, each range into
+ * its own accumulators, merged pairwise on the way back. Not thread-safe: the caller keeps writes
+ * and scans apart.
+ * <p>
+ * A snapshot file holds a fixed header, the dictionaries, then each column as a raw little-endian
+ * array, so reopening one is a bulk copy from mapped memory per column instead of a row-by-row
+ * decode.
+ */
+public final class TransportLogColumns {
+
+    // Fewest rows aggregated by one task; larger tables are cut into a few ranges per worker, so
+    // the cost of allocating and merging accumulators stays small next to the scan
+    static final int SPLIT_ROWS = 1 << 16;
+    private static final int RANGES_PER_WORKER = 4;
+    // Up to this many possible groups, accumulators are indexed by the group key without hashing
+    static final int DENSE_GROUPS = 1 << 15;
+
+    // "TLCOLS" and the layout version, changed whenever the snapshot layout does
+    private static final long SNAPSHOT_MAGIC = 0x544C_434F_4C53_0001L;
+    // Magic, row count, month range and dictionary length; keeps the columns 8-byte aligned
+    private static final int SNAPSHOT_HEADER_BYTES = 24;
+    private static final int SNAPSHOT_WRITE_CHUNK_BYTES = 1 << 20;
+
+    private static final int ADVANCE = 0;
+    private static final int FUEL_QUANTITY = 1;
+    private static final int FUEL_PRICE_PER_LITER = 2;
+    private static final int VARIABLE_CHARGE = 3;
+    private static final int CHARGE_PRICE = 4;
+    private static final int CLIENT_TARIFF = 5;
+    private static final int TRIP_PRICE = 6;
+    private static final int AMOUNT_COLUMNS = 7;
+    private static final int SNAPSHOT_ROW_BYTES = 2 * Long.BYTES + 6 * Integer.BYTES + AMOUNT_COLUMNS * Long.BYTES;
+
+    private int size;
+    private long[] ids;
+    private long[] versions;
+    private int[] clients;
+    private int[] drivers;
+    private int[] operators;
+    private int[] commercials;
+    private int[] loadDays;
+    private int[] months;
+    private final long[][] amounts = new long[AMOUNT_COLUMNS][];
+
+    private final LongIntMap rowsById;
+    private final Dictionary<Long> clientCodes = new Dictionary<>();
+    private final Dictionary<Long> driverCodes = new Dictionary<>();
+    private final Dictionary<String> operatorCodes = new Dictionary<>();
+    private final Dictionary<String> commercialCodes = new Dictionary<>();
+    // Months are kept as year * 12 + month - 1; the range only widens until the next reload
+    private int minMonth = Integer.MAX_VALUE;
+    private int maxMonth = Integer.MIN_VALUE;
+
+    public TransportLogColumns(int expectedRows) {
+        int capacity = Math.max(16, expectedRows);
+        ids = new long[capacity];
+        versions = new long[capacity];
+        clients = new int[capacity];
+        drivers = new int[capacity];
+        operators = new int[capacity];
+        commercials = new int[capacity];
+        loadDays = new int[capacity];
+        months = new int[capacity];
+        for (int c = 0; c < AMOUNT_COLUMNS; c++) {
+            amounts[c] = new long[capacity];
+        }
+        rowsById = new LongIntMap(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The row holding the log, or -1 when it is not held.
+     */
+    public int rowOf(long id) {
+        return rowsById.get(id);
+    }
+
+    public long idAt(int row) {
+        return ids[row];
+    }
+
+    public long versionAt(int row) {
+        return versions[row];
+    }
+
+    /**
+     * The highest id held, or 0 when empty.
+     */
+    public long maxId() {
+        long max = 0;
+        for (int row = 0; row < size; row++) {
+            max = Math.max(max, ids[row]);
+        }
+        return max;
+    }
+
+    /**
+     * Adds the log or overwrites its row, unless the row already holds a later version. Logs
+     * without a load date cannot be placed in a month and are left out.
+     */
+    public void upsert(TransportLogFacts facts) {
+        if (facts.loadDate() == null) {
+            remove(facts.id());
+            return;
+        }
+        int row = rowsById.get(facts.id());
+        if (row >= 0 && versions[row] > facts.version()) {
+            return;
+        }
+        if (row < 0) {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowsById.put(facts.id(), row);
+        }
+        ids[row] = facts.id();
+        versions[row] = facts.version();
+        clients[row] = clientCodes.encode(facts.clientId());
+        drivers[row] = driverCodes.encode(facts.driverId());
+        operators[row] = operatorCodes.encode(facts.operator());
+        commercials[row] = commercialCodes.encode(facts.commercial());
+        loadDays[row] = (int) facts.loadDate().toEpochDay();
+        int month = facts.loadDate().getYear() * 12 + facts.loadDate().getMonthValue() - 1;
+        months[row] = month;
+        minMonth = Math.min(minMonth, month);
+        maxMonth = Math.max(maxMonth, month);
+        amounts[ADVANCE][row] = facts.advance();
+        amounts[FUEL_QUANTITY][row] = facts.fuelQuantity();
+        amounts[FUEL_PRICE_PER_LITER][row] = facts.fuelPricePerLiter();
+        amounts[VARIABLE_CHARGE][row] = facts.variableCharge();
+        amounts[CHARGE_PRICE][row] = facts.chargePrice();
+        amounts[CLIENT_TARIFF][row] = facts.clientTariff();
+        amounts[TRIP_PRICE][row] = facts.tripPrice();
+    }
+
+    public void remove(long id) {
+        int row = rowsById.remove(id);
+        if (row < 0) {
+            return;
+        }
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            versions[row] = versions[last];
+            clients[row] = clients[last];
+            drivers[row] = drivers[last];
+            operators[row] = operators[last];
+            commercials[row] = commercials[last];
+            loadDays[row] = loadDays[last];
+            months[row] = months[last];
+            for (long[] column : amounts) {
+                column[row] = column[last];
+            }
+            rowsById.put(ids[row], row);
+        }
+    }
+
+    /**
+     * Sums the measures per group of the matching logs, groups ordered by their key.
+     */
+    public List<AnalyticsGroup> aggregate(AnalyticsQuery filter, List<AnalyticsDimension> groupBy,
+                                          List<AnalyticsMeasure> measures, int maxGroups, ForkJoinPool pool) {
+        int client = filter.clientId() == null ? -1 : clientCodes.find(filter.clientId());
+        int driver = filter.driverId() == null ? -1 : driverCodes.find(filter.driverId());
+        int operator = filter.operator() == null ? -1 : operatorCodes.find(filter.operator());
+        int commercial = filter.commercial() == null ? -1 : commercialCodes.find(filter.commercial());
+        // A filter value that was never stored matches nothing
+        if (client == 0 || driver == 0 || operator == 0 || commercial == 0 || size == 0) {
+            return List.of();
+        }
+        int fromDay = filter.loadDateFrom() == null ? Integer.MIN_VALUE : (int) filter.loadDateFrom().toEpochDay();
+        int untilDay = filter.loadDateTo() == null ? Integer.MAX_VALUE : (int) filter.loadDateTo().plusDays(1).toEpochDay();
+
+        int[][] dimensionColumns = new int[groupBy.size()][];
+        int[] offsets = new int[groupBy.size()];
+        long[] radices = new long[groupBy.size()];
+        long groupCount = 1;
+        for (int d = 0; d < groupBy.size(); d++) {
+            switch (groupBy.get(d)) {
+                case CLIENT -> {
+                    dimensionColumns[d] = clients;
+                    radices[d] = clientCodes.size();
+                }
+                case DRIVER -> {
+                    dimensionColumns[d] = drivers;
+                    radices[d] = driverCodes.size();
+                }
+                case OPERATOR -> {
+                    dimensionColumns[d] = operators;
+                    radices[d] = operatorCodes.size();
+                }
+                case COMMERCIAL -> {
+                    dimensionColumns[d] = commercials;
+                    radices[d] = commercialCodes.size();
+                }
+                case MONTH -> {
+                    dimensionColumns[d] = months;
+                    offsets[d] = minMonth;
+                    radices[d] = maxMonth - minMonth + 1L;
+                }
+            }
+            try {
+                groupCount = Math.multiplyExact(groupCount, radices[d]);
+            } catch (ArithmeticException e) {
+                throw new BadRequestException("Too many groups, group by fewer dimensions !");
+            }
+        }
+
+        long[][] firstFactors = new long[measures.size()][];
+        long[][] secondFactors = new long[measures.size()][];
+        for (int m = 0; m < measures.size(); m++) {
+            switch (measures.get(m)) {
+                case ADVANCE -> firstFactors[m] = amounts[ADVANCE];
+                case FUEL_QUANTITY -> firstFactors[m] = amounts[FUEL_QUANTITY];
+                case FUEL_COST -> {
+                    firstFactors[m] = amounts[FUEL_QUANTITY];
+                    secondFactors[m] = amounts[FUEL_PRICE_PER_LITER];
+                }
+                case VARIABLE_CHARGE -> firstFactors[m] = amounts[VARIABLE_CHARGE];
+                case CHARGE_PRICE -> firstFactors[m] = amounts[CHARGE_PRICE];
+                case CLIENT_TARIFF -> firstFactors[m] = amounts[CLIENT_TARIFF];
+                case TRIP_PRICE -> firstFactors[m] = amounts[TRIP_PRICE];
+            }
+        }
+
+        Plan plan = new Plan(clients, drivers, operators, commercials, loadDays, client, driver, operator, commercial,
+                fromDay, untilDay, dimensionColumns, offsets, radices, groupCount, firstFactors, secondFactors);
+        int splitRows = Math.max(SPLIT_ROWS, size / (pool.getParallelism() * RANGES_PER_WORKER));
+        Groups groups = pool.invoke(new ScanTask(plan, 0, size, splitRows));
+        if (groups.count() > maxGroups) {
+            throw new BadRequestException("More than " + maxGroups + " groups, narrow the filters or group by fewer dimensions !");
+        }
+        return decode(groups, groupBy, measures, offsets, radices);
+    }
+
+    private List<AnalyticsGroup> decode(Groups groups, List<AnalyticsDimension> groupBy, List<AnalyticsMeasure> measures,
+                                        int[] offsets, long[] radices) {
+        List<AnalyticsGroup> result = new ArrayList<>(groups.count());
+        for (int g = 0; g < groups.slots(); g++) {
+            if (groups.counts[g] == 0) {
+                continue;
+            }
+            Object[] values = new Object[groupBy.size()];
+            long key = groups.keyOf(g);
+            for (int d = groupBy.size() - 1; d >= 0; d--) {
+                int code = (int) (key % radices[d]);
+                key /= radices[d];
+                values[d] = switch (groupBy.get(d)) {
+                    case CLIENT -> clientCodes.decode(code);
+                    case DRIVER -> driverCodes.decode(code);
+                    case OPERATOR -> operatorCodes.decode(code);
+                    case COMMERCIAL -> commercialCodes.decode(code);
+                    case MONTH -> YearMonth.of((code + offsets[d]) / 12, (code + offsets[d]) % 12 + 1);
+                };
+            }
+            Map<AnalyticsDimension, Object> groupKey = new LinkedHashMap<>();
+            for (int d = 0; d < groupBy.size(); d++) {
+                groupKey.put(groupBy.get(d), values[d]);
+            }
+            Map<AnalyticsMeasure, BigDecimal> sums = new EnumMap<>(AnalyticsMeasure.class);
+            for (int m = 0; m < measures.size(); m++) {
+                sums.put(measures.get(m), BigDecimal.valueOf(groups.sums[g * measures.size() + m], measures.get(m).scale()));
+            }
+            result.add(new AnalyticsGroup(groupKey, groups.counts[g], sums));
+        }
+        result.sort(keyOrder(groupBy));
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<AnalyticsGroup> keyOrder(List<AnalyticsDimension> groupBy) {
+        Comparator<AnalyticsGroup> order = (a, b) -> 0;
+        for (AnalyticsDimension dimension : groupBy) {
+            Comparator<Comparable> values = Comparator.nullsFirst(Comparator.naturalOrder());
+            order = order.thenComparing(group -> (Comparable) group.key().get(dimension), values);
+        }
+        return order;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        clients = Arrays.copyOf(clients, capacity);
+        drivers = Arrays.copyOf(drivers, capacity);
+        operators = Arrays.copyOf(operators, capacity);
+        commercials = Arrays.copyOf(commercials, capacity);
+        loadDays = Arrays.copyOf(loadDays, capacity);
+        months = Arrays.copyOf(months, capacity);
+        for (int c = 0; c < AMOUNT_COLUMNS; c++) {
+            amounts[c] = Arrays.copyOf(amounts[c], capacity);
+        }
+    }
+
+    /**
+     * Writes every row to the channel, from its current position.
+     */
+    public void writeSnapshot(FileChannel channel) throws IOException {
+        snapshot().writeTo(channel);
+    }
+
+    /**
+     * Copies the rows for {@link Snapshot#writeTo}, so the file can be written while writes go on.
+     * The copy takes as much heap as the columns, for a few hundred milliseconds per ten million rows.
+     */
+    public Snapshot snapshot() {
+        ByteBuffer dictionaries = encodeDictionaries();
+        ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(SNAPSHOT_MAGIC).putInt(size).putInt(minMonth).putInt(maxMonth).putInt(dictionaries.remaining())
+                .flip();
+        long[][] longColumns = new long[2 + AMOUNT_COLUMNS][];
+        longColumns[0] = Arrays.copyOf(ids, size);
+        longColumns[1] = Arrays.copyOf(versions, size);
+        for (int column = 0; column < AMOUNT_COLUMNS; column++) {
+            longColumns[2 + column] = Arrays.copyOf(amounts[column], size);
+        }
+        int[][] intColumns = {Arrays.copyOf(clients, size), Arrays.copyOf(drivers, size), Arrays.copyOf(operators, size),
+                Arrays.copyOf(commercials, size), Arrays.copyOf(loadDays, size), Arrays.copyOf(months, size)};
+        return new Snapshot(size, header, dictionaries, longColumns, intColumns);
+    }
+
+    /**
+     * Reads back a whole file written by {@link #writeSnapshot}.
+     *
+     * @throws IOException when the file is truncated or was written with another layout
+     */
+    public static TransportLogColumns readSnapshot(FileChannel channel) throws IOException {
+        long fileBytes = channel.size();
+        if (fileBytes < SNAPSHOT_HEADER_BYTES) {
+            throw new IOException("Snapshot is truncated");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SNAPSHOT_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getLong() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a snapshot, or written with another layout");
+        }
+        int rows = header.getInt();
+        int minMonth = header.getInt();
+        int maxMonth = header.getInt();
+        int dictionaryBytes = header.getInt();
+        long position = SNAPSHOT_HEADER_BYTES + (long) dictionaryBytes;
+        if (rows < 0 || dictionaryBytes < 0 || fileBytes != position + (long) rows * SNAPSHOT_ROW_BYTES) {
+            throw new IOException("Snapshot is truncated");
+        }
+
+        // Some room for the logs created until the next reload
+        TransportLogColumns columns = new TransportLogColumns(rows + (rows >> 4));
+        ByteBuffer dictionaries = channel.map(FileChannel.MapMode.READ_ONLY, SNAPSHOT_HEADER_BYTES, dictionaryBytes)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        readIds(dictionaries, columns.clientCodes);
+        readIds(dictionaries, columns.driverCodes);
+        readNames(dictionaries, columns.operatorCodes);
+        readNames(dictionaries, columns.commercialCodes);
+        position = readColumn(channel, position, columns.ids, rows);
+        position = readColumn(channel, position, columns.versions, rows);
+        for (int[] column : new int[][]{columns.clients, columns.drivers, columns.operators, columns.commercials,
+                columns.loadDays, columns.months}) {
+            position = readColumn(channel, position, column, rows);
+        }
+        for (long[] column : columns.amounts) {
+            position = readColumn(channel, position, column, rows);
+        }
+        columns.size = rows;
+        columns.minMonth = minMonth;
+        columns.maxMonth = maxMonth;
+        for (int row = 0; row < rows; row++) {
+            columns.rowsById.put(columns.ids[row], row);
+        }
+        return columns;
+    }
+
+    // Each dictionary as its value count then the values from code 1; names as their UTF-8 length then bytes
+    private ByteBuffer encodeDictionaries() {
+        List<byte[]> operatorNames = operatorCodes.utf8();
+        List<byte[]> commercialNames = commercialCodes.utf8();
+        long bytes = 4L * Integer.BYTES + (long) (clientCodes.size() + driverCodes.size() - 2) * Long.BYTES;
+        for (byte[] name : operatorNames) {
+            bytes += Integer.BYTES + name.length;
+        }
+        for (byte[] name : commercialNames) {
+            bytes += Integer.BYTES + name.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact((bytes + 7) & ~7L)).order(ByteOrder.LITTLE_ENDIAN);
+        for (Dictionary<Long> dictionary : List.of(clientCodes, driverCodes)) {
+            buffer.putInt(dictionary.size() - 1);
+            for (int code = 1; code < dictionary.size(); code++) {
+                buffer.putLong(dictionary.decode(code));
+            }
+        }
+        for (List<byte[]> names : List.of(operatorNames, commercialNames)) {
+            buffer.putInt(names.size());
+            for (byte[] name : names) {
+                buffer.putInt(name.length).put(name);
+            }
+        }
+        return buffer.clear();
+    }
+
+    private static void readIds(ByteBuffer buffer, Dictionary<Long> dictionary) throws IOException {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            dictionary.restore(buffer.getLong());
+        }
+    }
+
+    private static void readNames(ByteBuffer buffer, Dictionary<String> dictionary) throws IOException {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            dictionary.restore(new String(name, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeColumn(FileChannel channel, ByteBuffer chunk, long[] column, int length) throws IOException {
+        for (int from = 0; from < length; ) {
+            int count = Math.min(length - from, chunk.capacity() / Long.BYTES);
+            chunk.clear().limit(count * Long.BYTES);
+            chunk.asLongBuffer().put(column, from, count);
+            writeFully(channel, chunk);
+            from += count;
+        }
+    }
+
+    private static void writeColumn(FileChannel channel, ByteBuffer chunk, int[] column, int length) throws IOException {
+        for (int from = 0; from < length; ) {
+            int count = Math.min(length - from, chunk.capacity() / Integer.BYTES);
+            chunk.clear().limit(count * Integer.BYTES);
+            chunk.asIntBuffer().put(column, from, count);
+            writeFully(channel, chunk);
+            from += count;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // One mapping per column, which caps a column at 2 GB: 268M rows
+    private static long readColumn(FileChannel channel, long position, long[] column, int length) throws IOException {
+        long bytes = (long) length * Long.BYTES;
+        channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN)
+                .asLongBuffer().get(column, 0, length);
+        return position + bytes;
+    }
+
+    private static long readColumn(FileChannel channel, long position, int[] column, int length) throws IOException {
+        long bytes = (long) length * Integer.BYTES;
+        channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer().get(column, 0, length);
+        return position + bytes;
+    }
+
+    // A query bound to the column arrays as they are when it starts; -1 filters match anything
+    private record Plan(int[] clients, int[] drivers, int[] operators, int[] commercials, int[] loadDays,
+                        int client, int driver, int operator, int commercial, int fromDay, int untilDay,
+                        int[][] dimensionColumns, int[] offsets, long[] radices, long groupCount,
+                        long[][] firstFactors, long[][] secondFactors) {
+
+        Groups scan(int from, int to) {
+            Groups groups = new Groups(firstFactors.length, groupCount);
+            int measureCount = firstFactors.length;
+            for (int i = from; i < to; i++) {
+                if (client >= 0 && clients[i] != client
+                        || driver >= 0 && drivers[i] != driver
+                        || operator >= 0 && operators[i] != operator
+                        || commercial >= 0 && commercials[i] != commercial
+                        || loadDays[i] < fromDay || loadDays[i] >= untilDay) {
+                    continue;
+                }
+                long key = 0;
+                for (int d = 0; d < dimensionColumns.length; d++) {
+                    key = key * radices[d] + (dimensionColumns[d][i] - offsets[d]);
+                }
+                int g = groups.slot(key);
+                groups.counts[g]++;
+                long[] sums = groups.sums;
+                int base = g * measureCount;
+                for (int m = 0; m < measureCount; m++) {
+                    long[] second = secondFactors[m];
+                    sums[base + m] += second == null ? firstFactors[m][i] : firstFactors[m][i] * second[i];
+                }
+            }
+            return groups;
+        }
+    }
+
+    // Trip count and sums per group, found by key through a hash table unless the key space is small
+    private static final class Groups {
+
+        private final int measureCount;
+        private final boolean dense;
+        private final LongIntMap slotsByKey;
+        private long[] keys;
+        private long[] counts;
+        private long[] sums;
+        private int used;
+
+        Groups(int measureCount, long groupCount) {
+            this.measureCount = measureCount;
+            this.dense = groupCount <= DENSE_GROUPS;
+            int capacity = dense ? (int) groupCount : 64;
+            this.slotsByKey = dense ? null : new LongIntMap(capacity);
+            this.keys = dense ? null : new long[capacity];
+            this.counts = new long[capacity];
+            this.sums = new long[capacity * measureCount];
+        }
+
+        int slot(long key) {
+            if (dense) {
+                return (int) key;
+            }
+            int slot = slotsByKey.get(key);
+            if (slot < 0) {
+                if (used == counts.length) {
+                    keys = Arrays.copyOf(keys, used * 2);
+                    counts = Arrays.copyOf(counts, used * 2);
+                    sums = Arrays.copyOf(sums, used * 2 * measureCount);
+                }
+                slot = used++;
+                keys[slot] = key;
+                slotsByKey.put(key, slot);
+            }
+            return slot;
+        }
+
+        int slots() {
+            return dense ? counts.length : used;
+        }
+
+        long keyOf(int slot) {
+            return dense ? slot : keys[slot];
+        }
+
+        int count() {
+            int groups = 0;
+            for (int g = 0; g < slots(); g++) {
+                if (counts[g] > 0) {
+                    groups++;
+                }
+            }
+            return groups;
+        }
+
+        void merge(Groups other) {
+            for (int g = 0; g < other.slots(); g++) {
+                if (other.counts[g] == 0) {
+                    continue;
+                }
+                int slot = slot(other.keyOf(g));
+                counts[slot] += other.counts[g];
+                for (int m = 0; m < measureCount; m++) {
+                    sums[slot * measureCount + m] += other.sums[g * measureCount + m];
+                }
+            }
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<Groups> {
+
+        private final Plan plan;
+        private final int from;
+        private final int to;
+        private final int splitRows;
+
+        ScanTask(Plan plan, int from, int to, int splitRows) {
+            this.plan = plan;
+            this.from = from;
+            this.to = to;
+            this.splitRows = splitRows;
+        }
+
+        @Override
+        protected Groups compute() {
+            if (to - from <= splitRows) {
+                return plan.scan(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(plan, from, middle, splitRows);
+            left.fork();
+            Groups right = new ScanTask(plan, middle, to, splitRows).compute();
+            Groups merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+
+    /**
+     * The rows of a {@link TransportLogColumns} at the time of {@link #snapshot()}, independent of later writes.
+     */
+    public static final class Snapshot {
+
+        private final int size;
+        private final ByteBuffer header;
+        private final ByteBuffer dictionaries;
+        // ids, versions then the amounts; the coded columns in file order
+        private final long[][] longColumns;
+        private final int[][] intColumns;
+
+        private Snapshot(int size, ByteBuffer header, ByteBuffer dictionaries, long[][] longColumns, int[][] intColumns) {
+            this.size = size;
+            this.header = header;
+            this.dictionaries = dictionaries;
+            this.longColumns = longColumns;
+            this.intColumns = intColumns;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Writes the rows to the channel, from its current position, in the layout {@link #readSnapshot} expects.
+         */
+        public void writeTo(FileChannel channel) throws IOException {
+            writeFully(channel, header.duplicate());
+            writeFully(channel, dictionaries.duplicate());
+            ByteBuffer chunk = ByteBuffer.allocateDirect(SNAPSHOT_WRITE_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            writeColumn(channel, chunk, longColumns[0], size);
+            writeColumn(channel, chunk, longColumns[1], size);
+            for (int[] column : intColumns) {
+                writeColumn(channel, chunk, column, size);
+            }
+            for (int column = 2; column < longColumns.length; column++) {
+                writeColumn(channel, chunk, longColumns[column], size);
+            }
+        }
+    }
+
+    // Dense codes for the distinct values of a column, 0 being the missing value
+    private static final class Dictionary<T> {
+
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        Dictionary() {
+            values.add(null);
+        }
+
+        int encode(T value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        // The code of a value, or 0 when it was never stored
+        int find(T value) {
+            return codes.getOrDefault(value, 0);
+        }
+
+        T decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        // Appends a value read from a snapshot, which must get the next code
+        void restore(T value) throws IOException {
+            if (value == null || codes.putIfAbsent(value, values.size()) != null) {
+                throw new IOException("Snapshot dictionary holds a duplicate value");
+            }
+            values.add(value);
+        }
+
+        List<byte[]> utf8() {
+            List<byte[]> encoded = new ArrayList<>(values.size() - 1);
+            for (int code = 1; code < values.size(); code++) {
+                encoded.add(values.get(code).toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.delivery_tracker_app.app.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface TransportLogExportService {
+    void exportNdjson(OutputStream out) throws IOException;
+    void exportCsv(LocalDate from, LocalDate to, boolean gzip, OutputStream out) throws IOException;
+}
@@ -0,0 +1,44 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.entity.TransportLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves {@code transport_log_seq} past the ids already in use, before the application serves requests.
+ * <p>
+ * Logs used to get identity ids; on a database from that time the schema update creates the sequence
+ * at 1 and every insert would collide with an existing log. Archived logs keep their ids, so they count
+ * as well. The sequence only ever moves forward, so an instance starting next to running ones never
+ * hands out a block they already reserved.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransportLogIdSequence {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void skipUsedIds() {
+        Long usedId = jdbcTemplate.queryForObject("""
+                select greatest((select coalesce(max(id), 0) from transport_log),
+                                (select coalesce(max(id), 0) from transport_log_archive))
+                """, Long.class);
+        String nextValue = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getSequenceSupport().getSequenceNextValString(TransportLog.ID_SEQUENCE);
+        Long next = jdbcTemplate.queryForObject(nextValue, Long.class);
+        // With the pooled optimizer a value reserves the block of ids that ends at it
+        if (usedId != null && next != null && next - TransportLog.ID_ALLOCATION_SIZE < usedId) {
+            long restart = usedId + TransportLog.ID_ALLOCATION_SIZE;
+            jdbcTemplate.execute("alter sequence " + TransportLog.ID_SEQUENCE + " restart with " + restart);
+            log.info("Moved {} to {}, past the highest transport log id {}", TransportLog.ID_SEQUENCE, restart, usedId);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogImportStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface TransportLogImportService {
+    TransportLogImportStatus startImport(MultipartFile file);
+    TransportLogImportStatus getStatus(String jobId);
+}
@@ -0,0 +1,125 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.config.ArchiveProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of {@code transport_log} on PostgreSQL.
+ * <p>
+ * The table itself is converted once with {@code db/postgres/transport_log_partitioning.sql};
+ * Hibernate cannot create partitioned tables. From then on this keeps the coming months created,
+ * at startup and on {@code app.archive.partitions-cron} whether or not archiving is enabled, so new
+ * logs never land in the default partition, and drops months the archiver has emptied, which
+ * returns their space at once instead of leaving it to VACUUM.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "partitioned", havingValue = "true")
+@Slf4j
+public class TransportLogPartitions {
+
+    private static final String PREFIX = "transport_log_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties archiveProperties;
+
+    public TransportLogPartitions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  ArchiveProperties archiveProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveProperties = archiveProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.archive.partitions-cron:0 0 2 * * *}")
+    public void createAhead() {
+        if (!isPartitioned()) {
+            log.warn("app.archive.partitioned is set but transport_log is not partitioned; run db/postgres/transport_log_partitioning.sql");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int ahead = 0; ahead <= archiveProperties.getPartitionsAhead(); ahead++) {
+            YearMonth month = current.plusMonths(ahead);
+            // One month failing must neither abort startup nor keep the following months from being created
+            try {
+                transactionTemplate.executeWithoutResult(status -> createMonth(month));
+            } catch (DataAccessException e) {
+                log.error("Could not create the transport_log partition for {}", month, e);
+            }
+        }
+    }
+
+    /**
+     * Creates the partition of one month, taking over the rows the default partition already holds
+     * for it: PostgreSQL refuses a new partition whose range has rows in the default one.
+     */
+    private void createMonth(YearMonth month) {
+        String partition = PREFIX + month.format(SUFFIX);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, partition))) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("create table " + partition + " (like transport_log including defaults)");
+        List<String> defaultPartition = jdbcTemplate.queryForList(
+                "select partdefid::regclass::text from pg_partitioned_table where partrelid = 'transport_log'::regclass and partdefid <> 0",
+                String.class);
+        if (!defaultPartition.isEmpty()) {
+            int moved = jdbcTemplate.update("with moved as (delete from " + defaultPartition.get(0)
+                    + " where load_date >= ? and load_date < ? returning *) insert into " + partition
+                    + " select * from moved", from, to);
+            if (moved > 0) {
+                log.info("Moved {} transport logs from {} to {}", moved, defaultPartition.get(0), partition);
+            }
+        }
+        // Attaching creates the parent's indexes and foreign keys on the new partition
+        jdbcTemplate.execute("alter table transport_log attach partition " + partition
+                + " for values from ('" + from + "') to ('" + to + "')");
+    }
+
+    /**
+     * Drops the partitions lying entirely before the cutoff that no longer hold any row.
+     */
+    public void dropArchived(LocalDate cutoff) {
+        if (!isPartitioned()) {
+            return;
+        }
+        List<String> partitions = jdbcTemplate.queryForList("""
+                select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = 'transport_log'::regclass and c.relname ~ '^transport_log_p[0-9]{6}$'
+                order by c.relname
+                """, String.class);
+        for (String partition : partitions) {
+            YearMonth month = YearMonth.parse(partition.substring(PREFIX.length()), SUFFIX);
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                break;
+            }
+            Boolean empty = jdbcTemplate.queryForObject("select not exists (select 1 from " + partition + ")", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.execute("drop table " + partition);
+                log.info("Dropped archived partition {}", partition);
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('transport_log'))",
+                Boolean.class));
+    }
+}
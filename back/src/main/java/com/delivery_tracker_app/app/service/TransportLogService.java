@@ -1,14 +1,32 @@
 package com.delivery_tracker_app.app.service;
 
+import com.delivery_tracker_app.app.dto.v1.common.BulkOperationResponse;
+import com.delivery_tracker_app.app.dto.v1.common.CursorPagedResponse;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.PatchTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBatchResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkDeleteRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkUpdateRequest;
 import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogSearchCriteria;
 import com.delivery_tracker_app.app.dto.v1.transportLog.UpdateTransportLogRequest;
 
+import java.util.List;
+
 public interface TransportLogService {
     TransportLogResponse create(CreateTransportLogRequest request);
+    TransportLogBatchResponse createBatch(List<CreateTransportLogRequest> items);
     TransportLogResponse update(UpdateTransportLogRequest request);
+    TransportLogResponse patch(Long id, PatchTransportLogRequest request);
     PagedResponse<TransportLogResponse> getAll(int page, int size);
+    SliceResponse<TransportLogResponse> getSlice(int page, int size);
+    CursorPagedResponse<TransportLogResponse> getAfter(String after, int size);
+    PagedResponse<TransportLogResponse> search(TransportLogSearchCriteria criteria, int page, int size);
     TransportLogResponse getById(Long id);
+    String getETag(Long id);
     void delete(Long id);
+    BulkOperationResponse bulkUpdate(TransportLogBulkUpdateRequest request);
+    BulkOperationResponse bulkDelete(TransportLogBulkDeleteRequest request);
 }
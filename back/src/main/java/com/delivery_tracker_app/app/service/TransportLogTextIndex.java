@@ -0,0 +1,31 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Backend for free-text search over the location, destination and delivery note fields.
+ * <p>
+ * The active implementation is chosen with {@code app.search.backend}. Write notifications are
+ * only needed by backends that keep their own copy of the data; inside a transaction they take
+ * effect after commit.
+ */
+public interface TransportLogTextIndex {
+
+    /**
+     * Ids of the matching logs for one page, best match first, and the total number of matches.
+     */
+    record Hits(List<Long> ids, long total) {
+    }
+
+    Hits search(String query, int offset, int limit);
+
+    void upsert(Collection<TransportLogTextDocument> documents);
+
+    void remove(Collection<Long> ids);
+
+    // Rows changed in a way the caller cannot enumerate, e.g. a bulk delete by criteria
+    void invalidate();
+}
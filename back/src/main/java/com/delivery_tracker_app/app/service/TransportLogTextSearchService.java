@@ -0,0 +1,14 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.LocationSuggestion;
+import com.delivery_tracker_app.app.dto.v1.transportLog.SuggestionField;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+
+import java.util.List;
+
+public interface TransportLogTextSearchService {
+    PagedResponse<TransportLogResponse> search(String query, int page, int size);
+
+    List<LocationSuggestion> suggest(SuggestionField field, String prefix, int limit);
+}
@@ -0,0 +1,36 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsDimension;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsMeasure;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsQuery;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsResult;
+import com.delivery_tracker_app.app.exception.BadRequestException;
+import com.delivery_tracker_app.app.service.AnalyticsService;
+import com.delivery_tracker_app.app.service.TransportLogAnalytics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final TransportLogAnalytics transportLogAnalytics;
+
+    @Override
+    public AnalyticsResult query(AnalyticsQuery query) {
+        if (query.loadDateFrom() != null && query.loadDateTo() != null && query.loadDateFrom().isAfter(query.loadDateTo())) {
+            throw new BadRequestException("'loadDateFrom' must not be after 'loadDateTo' !");
+        }
+        List<AnalyticsDimension> groupBy = query.groupBy() != null ? query.groupBy() : List.of();
+        if (new HashSet<>(groupBy).size() < groupBy.size()) {
+            throw new BadRequestException("Each dimension may be grouped by only once !");
+        }
+        List<AnalyticsMeasure> measures = query.measures() != null && !query.measures().isEmpty()
+                ? query.measures().stream().distinct().toList()
+                : List.of(AnalyticsMeasure.values());
+        return transportLogAnalytics.query(query, groupBy, measures);
+    }
+}
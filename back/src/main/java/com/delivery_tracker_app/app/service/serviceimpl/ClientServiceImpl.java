@@ -1,21 +1,40 @@
 package com.delivery_tracker_app.app.service.serviceimpl;
 
 
+import com.delivery_tracker_app.app.config.CacheConfig;
 import com.delivery_tracker_app.app.dto.v1.client.ClientResponse;
 import com.delivery_tracker_app.app.dto.v1.client.CreateClientRequest;
 import com.delivery_tracker_app.app.dto.v1.client.UpdateClientRequest;
+import com.delivery_tracker_app.app.dto.v1.common.ETags;
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.exception.PreconditionFailedException;
 import com.delivery_tracker_app.app.exception.ResourceNotFoundException;
 import com.delivery_tracker_app.app.mapper.ClientMapper;
 import com.delivery_tracker_app.app.repository.ClientRepo;
 import com.delivery_tracker_app.app.service.ClientService;
+import com.delivery_tracker_app.app.service.AfterCommit;
+import com.delivery_tracker_app.app.service.EntityCounters;
+import com.delivery_tracker_app.app.service.LookupSnapshotCache;
+import com.delivery_tracker_app.app.service.EntityCounters.CountedTable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.List;
 
 @Service
@@ -24,23 +43,46 @@ public class ClientServiceImpl implements ClientService {
 
     private final ClientRepo clientRepo;
     private final ClientMapper clientMapper;
+    private final EntityCounters entityCounters;
+    private final PlatformTransactionManager transactionManager;
 
+    // Picker list for the whole table, rebuilt on the first read after a committed write
+    private final LookupSnapshotCache lookupCache =
+            new LookupSnapshotCache(this::loadLookupItems, Duration.ofMinutes(5));
+
+    @Transactional
     @Override
     public ClientResponse create(CreateClientRequest request){
         Client saved = clientRepo.save(clientMapper.toEntity(request));
+        entityCounters.increment(CountedTable.CLIENT, 1);
+        AfterCommit.run(lookupCache::invalidate);
         return clientMapper.toDto(saved);
     }
 
+    // Cached transport logs embed the client, so they are dropped as well
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.CLIENTS, key = "#result.id()"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TRANSPORT_LOGS, allEntries = true)
+    )
+    @Transactional
     @Override
     public  ClientResponse update(UpdateClientRequest request){
 
         Client updated = clientRepo.findById(request.id()).orElseThrow(
                 () -> new ResourceNotFoundException("Client not found !")
         );
+        if (request.version() != null && !request.version().equals(updated.getVersion())) {
+            throw new PreconditionFailedException("Client was modified since it was read !");
+        }
+        updated.setName(request.name());
+        updated.setIdentityId(request.identityId());
+
         updated =  clientRepo.save(updated);
+        AfterCommit.run(lookupCache::invalidate);
         return clientMapper.toDto(updated);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public PagedResponse<ClientResponse> getAll(int page, int size){
 
@@ -58,6 +100,18 @@ public class ClientServiceImpl implements ClientService {
         );
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public SliceResponse<ClientResponse> getSlice(int page, int size){
+        Slice<Client> sliceResult = clientRepo.findAllBy(PageRequest.of(page, size));
+        List<ClientResponse> data = sliceResult.getContent().stream().map(clientMapper::toDto).toList();
+
+        return new SliceResponse<>(data, sliceResult.getNumber(), sliceResult.getSize(), sliceResult.hasNext());
+    }
+
+    // On the primary: a replica lagging behind a write would put the previous state back into the cache
+    @Cacheable(cacheNames = CacheConfig.CLIENTS, key = "#id")
+    @Transactional
     @Override
     public ClientResponse getById(Long id){
 
@@ -67,6 +121,32 @@ public class ClientServiceImpl implements ClientService {
         return clientMapper.toDto(response);
     }
 
+    // On the primary: a replica lagging behind a PUT would answer 304 with the previous version
+    @Transactional
+    @Override
+    public String getETag(Long id){
+        Long version = clientRepo.findVersionById(id).orElseThrow(
+                () -> new ResourceNotFoundException("Client not found !")
+        );
+        return ETags.of(version);
+    }
+
+    @Override
+    public LookupSnapshot getLookup(){
+        return lookupCache.get();
+    }
+
+    // Read-write so it reads the primary: a replica lagging behind a committed write would
+    // rebuild the previous list and keep it until the snapshot expires
+    private List<LookupItem> loadLookupItems(){
+        return new TransactionTemplate(transactionManager).execute(status -> clientRepo.findAllLookupItems());
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRANSPORT_LOGS, allEntries = true)
+    })
+    @Transactional
     @Override
     public void delete(Long id){
         if(!clientRepo.existsById(id)){
@@ -74,5 +154,7 @@ public class ClientServiceImpl implements ClientService {
         }
 
         clientRepo.deleteById(id);
+        entityCounters.decrement(CountedTable.CLIENT, 1);
+        AfterCommit.run(lookupCache::invalidate);
     }
 }
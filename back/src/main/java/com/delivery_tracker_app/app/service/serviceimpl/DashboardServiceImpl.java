@@ -0,0 +1,50 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.dto.v1.dashboard.DashboardSummary;
+import com.delivery_tracker_app.app.dto.v1.dashboard.DashboardTotals;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.mapper.TransportLogMapper;
+import com.delivery_tracker_app.app.repository.TransportLogReportRepo;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.service.DashboardService;
+import com.delivery_tracker_app.app.service.EntityCounters;
+import com.delivery_tracker_app.app.service.EntityCounters.CountedTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private final EntityCounters entityCounters;
+    private final TransportLogRepo transportLogRepo;
+    private final TransportLogReportRepo transportLogReportRepo;
+    private final TransportLogMapper transportLogMapper;
+
+    @Transactional(readOnly = true)
+    @Override
+    public DashboardSummary getSummary(int latest) {
+        // Totals come from the counters; only the latest logs and the month figures touch the database
+        List<TransportLogResponse> latestLogs = transportLogRepo.findFirstKeysetPage(Limit.of(latest)).stream()
+                .map(transportLogMapper::toDto)
+                .toList();
+
+        YearMonth month = YearMonth.now();
+        DashboardTotals monthTotals = transportLogReportRepo.summarizeLoadDateRange(
+                month.atDay(1), month.plusMonths(1).atDay(1));
+
+        return new DashboardSummary(
+                entityCounters.get(CountedTable.CLIENT),
+                entityCounters.get(CountedTable.DRIVER),
+                entityCounters.get(CountedTable.TRANSPORT_LOG),
+                month,
+                monthTotals,
+                latestLogs
+        );
+    }
+}
@@ -1,20 +1,39 @@
 package com.delivery_tracker_app.app.service.serviceimpl;
 
+import com.delivery_tracker_app.app.config.CacheConfig;
+import com.delivery_tracker_app.app.dto.v1.common.ETags;
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.CreateDriverRequest;
 import com.delivery_tracker_app.app.dto.v1.driver.DriverResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.UpdateDriverRequest;
 import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.exception.PreconditionFailedException;
 import com.delivery_tracker_app.app.exception.ResourceNotFoundException;
 import com.delivery_tracker_app.app.mapper.DriverMapper;
 import com.delivery_tracker_app.app.repository.DriverRepo;
 import com.delivery_tracker_app.app.service.DriverService;
+import com.delivery_tracker_app.app.service.AfterCommit;
+import com.delivery_tracker_app.app.service.EntityCounters;
+import com.delivery_tracker_app.app.service.LookupSnapshotCache;
+import com.delivery_tracker_app.app.service.EntityCounters.CountedTable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.List;
 
 @Service
@@ -22,25 +41,45 @@ import java.util.List;
 public class DriverServiceImpl implements DriverService {
     public final DriverRepo driverRepo;
     public final DriverMapper driverMapper;
+    private final EntityCounters entityCounters;
+    private final PlatformTransactionManager transactionManager;
 
+    // Picker list for the whole table, rebuilt on the first read after a committed write
+    private final LookupSnapshotCache lookupCache =
+            new LookupSnapshotCache(this::loadLookupItems, Duration.ofMinutes(5));
+
+    @Transactional
     @Override
     public DriverResponse create(CreateDriverRequest req){
         Driver driver = driverRepo.save(driverMapper.toEntity(req));
+        entityCounters.increment(CountedTable.DRIVER, 1);
+        AfterCommit.run(lookupCache::invalidate);
         return driverMapper.toDto(driver);
     }
 
+    // Cached transport logs embed the driver, so they are dropped as well
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.DRIVERS, key = "#result.id()"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TRANSPORT_LOGS, allEntries = true)
+    )
+    @Transactional
     @Override
     public DriverResponse update(UpdateDriverRequest req){
         Driver updated = driverRepo.findById(req.id()).orElseThrow(
                 () -> new ResourceNotFoundException("Client not found !")
         );
+        if (req.version() != null && !req.version().equals(updated.getVersion())) {
+            throw new PreconditionFailedException("Driver was modified since it was read !");
+        }
         updated.setName(req.name());
         updated.setPlateNumber(req.plateNumber());
 
         updated =  driverRepo.save(updated);
+        AfterCommit.run(lookupCache::invalidate);
         return driverMapper.toDto(updated);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public PagedResponse<DriverResponse> getAll(int page, int size){
         Pageable pageable = PageRequest.of(page, size);
@@ -57,6 +96,18 @@ public class DriverServiceImpl implements DriverService {
         );
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public SliceResponse<DriverResponse> getSlice(int page, int size){
+        Slice<Driver> sliceResult = driverRepo.findAllBy(PageRequest.of(page, size));
+        List<DriverResponse> data = sliceResult.getContent().stream().map(driverMapper::toDto).toList();
+
+        return new SliceResponse<>(data, sliceResult.getNumber(), sliceResult.getSize(), sliceResult.hasNext());
+    }
+
+    // On the primary: a replica lagging behind a write would put the previous state back into the cache
+    @Cacheable(cacheNames = CacheConfig.DRIVERS, key = "#id")
+    @Transactional
     @Override
     public DriverResponse getById(Long id){
         // Changed exception to ResourceNotFoundException
@@ -65,6 +116,32 @@ public class DriverServiceImpl implements DriverService {
         return driverMapper.toDto(driver);
     }
 
+    // On the primary: a replica lagging behind a PUT would answer 304 with the previous version
+    @Transactional
+    @Override
+    public String getETag(Long id){
+        Long version = driverRepo.findVersionById(id).orElseThrow(
+                () -> new ResourceNotFoundException("Driver not found !")
+        );
+        return ETags.of(version);
+    }
+
+    @Override
+    public LookupSnapshot getLookup(){
+        return lookupCache.get();
+    }
+
+    // Read-write so it reads the primary: a replica lagging behind a committed write would
+    // rebuild the previous list and keep it until the snapshot expires
+    private List<LookupItem> loadLookupItems(){
+        return new TransactionTemplate(transactionManager).execute(status -> driverRepo.findAllLookupItems());
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TRANSPORT_LOGS, allEntries = true)
+    })
+    @Transactional
     @Override
     public void delete(Long id){
         // Changed exception to ResourceNotFoundException
@@ -72,5 +149,7 @@ public class DriverServiceImpl implements DriverService {
                 .orElseThrow(() -> new ResourceNotFoundException("Driver not found !"));
 
         driverRepo.deleteById(id);
+        entityCounters.decrement(CountedTable.DRIVER, 1);
+        AfterCommit.run(lookupCache::invalidate);
     }
 }
@@ -0,0 +1,191 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.config.SearchProperties;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+import com.delivery_tracker_app.app.service.AfterCommit;
+import com.delivery_tracker_app.app.service.ReloadableView;
+import com.delivery_tracker_app.app.service.TextFolding;
+import com.delivery_tracker_app.app.service.TransportLogTextIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index over the transport log text fields, held in the JVM.
+ * <p>
+ * Text is lower-cased, stripped of accents and split into words; every word contributes its
+ * trigrams padded the way pg_trgm does it, so prefixes and small typos still match. A log
+ * matches when it contains at least {@code app.search.min-similarity} of the query's trigrams,
+ * and is ranked by how many it contains, weighted by the field they were found in.
+ * <p>
+ * The index is loaded from the table at startup and kept current by the service layer; a periodic
+ * reload picks up writes made by other instances or outside the application. Postings
+ * are plain hash sets, which suits tables up to a few hundred thousand rows; beyond that the
+ * PostgreSQL backend avoids holding a copy of the text in every instance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "backend", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryTransportLogTextIndex implements TransportLogTextIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Same order as the fields of TransportLogTextDocument; a match in the destination counts most
+    private static final float[] FIELD_WEIGHTS = {0.8f, 0.8f, 1.0f, 0.5f};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor applicationTaskExecutor;
+    private final double minSimilarity;
+
+    private final ReloadableView<Index> index = new ReloadableView<>(new Index());
+
+    public InMemoryTransportLogTextIndex(JdbcTemplate jdbcTemplate, TaskExecutor applicationTaskExecutor,
+                                         SearchProperties searchProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.minSimilarity = searchProperties.getMinSimilarity();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.reload-interval:PT30M}",
+               fixedDelayString = "${app.search.reload-interval:PT30M}")
+    public void reload() {
+        Index loaded = index.reload(previous -> {
+            Index fresh = new Index();
+            jdbcTemplate.query(
+                    "select id, load_location, unload_location, destination_name, delivery_note from transport_log",
+                    rs -> {
+                        fresh.upsert(new TransportLogTextDocument(rs.getLong(1), rs.getString(2),
+                                rs.getString(3), rs.getString(4), rs.getString(5)));
+                    });
+            return fresh;
+        });
+        if (loaded != null) {
+            log.info("Transport log text index loaded: {} logs", loaded.documents.size());
+        }
+    }
+
+    @Override
+    public Hits search(String query, int offset, int limit) {
+        List<String> trigrams = new ArrayList<>(trigrams(query));
+        if (trigrams.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        return index.read(current -> current.search(trigrams, minSimilarity, offset, limit));
+    }
+
+    @Override
+    public void upsert(Collection<TransportLogTextDocument> documents) {
+        List<TransportLogTextDocument> copy = List.copyOf(documents);
+        AfterCommit.run(() -> index.write(target -> copy.forEach(target::upsert)));
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        AfterCommit.run(() -> index.write(target -> copy.forEach(target::remove)));
+    }
+
+    @Override
+    public void invalidate() {
+        AfterCommit.run(() -> applicationTaskExecutor.execute(this::reload));
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        for (String word : SEPARATORS.split(TextFolding.fold(text))) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static final class Index {
+
+        // Posting entries pack the log id and the field index: id << 2 | field
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final Map<Long, String[][]> documents = new HashMap<>();
+
+        void upsert(TransportLogTextDocument document) {
+            remove(document.id());
+            String[] fields = {document.loadLocation(), document.unloadLocation(),
+                    document.destinationName(), document.deliveryNote()};
+            String[][] fieldTrigrams = new String[fields.length][];
+            for (int field = 0; field < fields.length; field++) {
+                fieldTrigrams[field] = trigrams(fields[field]).toArray(String[]::new);
+                long entry = document.id() << 2 | field;
+                for (String trigram : fieldTrigrams[field]) {
+                    postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(entry);
+                }
+            }
+            documents.put(document.id(), fieldTrigrams);
+        }
+
+        void remove(Long id) {
+            String[][] fieldTrigrams = documents.remove(id);
+            if (fieldTrigrams == null) {
+                return;
+            }
+            for (int field = 0; field < fieldTrigrams.length; field++) {
+                long entry = id << 2 | field;
+                for (String trigram : fieldTrigrams[field]) {
+                    Set<Long> entries = postings.get(trigram);
+                    entries.remove(entry);
+                    if (entries.isEmpty()) {
+                        postings.remove(trigram);
+                    }
+                }
+            }
+        }
+
+        Hits search(List<String> trigrams, double minSimilarity, int offset, int limit) {
+            Map<Long, int[]> matched = new HashMap<>();
+            Map<Long, float[]> scores = new HashMap<>();
+            for (String trigram : trigrams) {
+                // Best field weight per log for this trigram, so a log is not rewarded for repeating it
+                Map<Long, Float> best = new HashMap<>();
+                for (long entry : postings.getOrDefault(trigram, Set.of())) {
+                    best.merge(entry >>> 2, FIELD_WEIGHTS[(int) (entry & 3)], Math::max);
+                }
+                best.forEach((id, weight) -> {
+                    matched.computeIfAbsent(id, key -> new int[1])[0]++;
+                    scores.computeIfAbsent(id, key -> new float[1])[0] += weight;
+                });
+            }
+
+            int required = (int) Math.ceil(minSimilarity * trigrams.size());
+            List<Long> ranked = matched.entrySet().stream()
+                    .filter(match -> match.getValue()[0] >= required)
+                    .map(Map.Entry::getKey)
+                    .sorted(Comparator.<Long>comparingDouble(id -> scores.get(id)[0]).reversed()
+                            .thenComparing(Comparator.reverseOrder()))
+                    .toList();
+            List<Long> page = ranked.subList(Math.min(offset, ranked.size()), Math.min(offset + limit, ranked.size()));
+            return new Hits(List.copyOf(page), ranked.size());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.config.SearchProperties;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+import com.delivery_tracker_app.app.service.TransportLogTextIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Text search served by PostgreSQL's pg_trgm extension through GIN trigram indexes.
+ * <p>
+ * The database keeps the indexes current, so write notifications are ignored. The extension and
+ * indexes are created at startup when the database user is allowed to; otherwise a DBA has to run
+ * the same statements once.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "backend", havingValue = "postgres")
+@Slf4j
+public class PostgresTransportLogTextIndex implements TransportLogTextIndex {
+
+    private static final List<String> COLUMNS = List.of("load_location", "unload_location", "destination_name", "delivery_note");
+
+    // word_similarity scores the best matching part of the column, so "tang" finds "Tangier Med";
+    // the <% operator applies the same measure with pg_trgm.word_similarity_threshold and uses the indexes
+    private static final String SEARCH = """
+            select id, count(*) over () as total from (
+                select t.id, greatest(
+                        0.8 * word_similarity(?, coalesce(t.load_location, '')),
+                        0.8 * word_similarity(?, coalesce(t.unload_location, '')),
+                        word_similarity(?, coalesce(t.destination_name, '')),
+                        0.5 * word_similarity(?, coalesce(t.delivery_note, ''))) as score
+                from transport_log t
+                where ? <% t.load_location or ? <% t.unload_location
+                   or ? <% t.destination_name or ? <% t.delivery_note
+            ) scored
+            order by score desc, id desc
+            limit ? offset ?
+            """;
+
+    private static final String COUNT = """
+            select count(*) from transport_log t
+            where ? <% t.load_location or ? <% t.unload_location
+               or ? <% t.destination_name or ? <% t.delivery_note
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double minSimilarity;
+
+    public PostgresTransportLogTextIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                         SearchProperties searchProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minSimilarity = searchProperties.getMinSimilarity();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            jdbcTemplate.execute("create extension if not exists pg_trgm");
+            for (String column : COLUMNS) {
+                jdbcTemplate.execute("create index if not exists idx_transport_log_" + column + "_trgm"
+                        + " on transport_log using gin (" + column + " gin_trgm_ops)");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not create the pg_trgm extension or indexes, text search will scan the table: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Hits search(String query, int offset, int limit) {
+        return readOnlyTransaction.execute(status -> {
+            // Scoped to this transaction, so the pooled connection keeps its default afterwards
+            jdbcTemplate.queryForObject("select set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                    String.class, String.valueOf(minSimilarity));
+
+            List<Long> ids = new ArrayList<>();
+            long[] total = {0};
+            jdbcTemplate.query(SEARCH, rs -> {
+                ids.add(rs.getLong("id"));
+                total[0] = rs.getLong("total");
+            }, query, query, query, query, query, query, query, query, limit, offset);
+            if (ids.isEmpty() && offset > 0) {
+                // Past the last page the window count has no row to ride on
+                total[0] = jdbcTemplate.queryForObject(COUNT, Long.class, query, query, query, query);
+            }
+            return new Hits(ids, total[0]);
+        });
+    }
+
+    @Override
+    public void upsert(Collection<TransportLogTextDocument> documents) {
+        // Maintained by the database
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        // Maintained by the database
+    }
+
+    @Override
+    public void invalidate() {
+        // Maintained by the database
+    }
+}
@@ -0,0 +1,33 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.dto.v1.report.ClientMonthlyStatement;
+import com.delivery_tracker_app.app.exception.BadRequestException;
+import com.delivery_tracker_app.app.repository.TransportLogReportRepo;
+import com.delivery_tracker_app.app.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+
+    private final TransportLogReportRepo transportLogReportRepo;
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ClientMonthlyStatement> getClientStatements(LocalDate from, LocalDate to, Long clientId) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to' !");
+        }
+
+        // Half-open range keeps the predicate a plain index range on load_date
+        LocalDate until = to.plusDays(1);
+        return clientId == null
+                ? transportLogReportRepo.aggregateByClientAndMonth(from, until)
+                : transportLogReportRepo.aggregateByClientAndMonthForClient(clientId, from, until);
+    }
+}
@@ -0,0 +1,99 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.mapper.TransportLogCsvMapper;
+import com.delivery_tracker_app.app.mapper.TransportLogMapper;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.service.TransportLogExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Streams transport logs straight from a database cursor to the response body.
+ * Rows are mapped and written one at a time and the persistence context is cleared
+ * every {@link TransportLogRepo#EXPORT_FETCH_SIZE} rows, so memory use does not depend
+ * on the size of the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransportLogExportServiceImpl implements TransportLogExportService {
+
+    private static final int NEWLINE = '\n';
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+
+    private final TransportLogRepo transportLogRepo;
+    private final TransportLogMapper transportLogMapper;
+    private final TransportLogCsvMapper transportLogCsvMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // Runs on the async thread that writes the response, which is where the transaction has to live
+    @Transactional(readOnly = true)
+    @Override
+    public void exportNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TransportLogResponse.class);
+        long count = 0;
+
+        try (Stream<TransportLog> rows = transportLogRepo.streamAll()) {
+            Iterator<TransportLog> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(transportLogMapper.toDto(iterator.next())));
+                out.write(NEWLINE);
+
+                if (++count % TransportLogRepo.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        log.info("Exported {} transport logs as NDJSON", count);
+    }
+
+    // Entities are written to CSV directly: no DTO is built and nothing is collected in memory
+    @Transactional(readOnly = true)
+    @Override
+    public void exportCsv(LocalDate from, LocalDate to, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, CSV_BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        long count = 0;
+
+        transportLogCsvMapper.writeHeader(writer);
+        try (Stream<TransportLog> rows = transportLogRepo.streamByLoadDateBetween(from, to)) {
+            Iterator<TransportLog> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                transportLogCsvMapper.writeRow(iterator.next(), writer);
+
+                if (++count % TransportLogRepo.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+        log.info("Exported {} transport logs as CSV for {} to {} (gzip={})", count, from, to, gzip);
+    }
+}
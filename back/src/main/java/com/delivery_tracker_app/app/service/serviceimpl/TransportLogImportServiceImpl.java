@@ -0,0 +1,335 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.config.TransportLogProperties;
+import com.delivery_tracker_app.app.dto.v1.analytics.TransportLogFacts;
+import com.delivery_tracker_app.app.dto.v1.common.ReferenceKey;
+import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogImportStatus;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.exception.BadRequestException;
+import com.delivery_tracker_app.app.exception.ResourceNotFoundException;
+import com.delivery_tracker_app.app.mapper.TransportLogCsvMapper;
+import com.delivery_tracker_app.app.mapper.TransportLogMapper;
+import com.delivery_tracker_app.app.repository.ClientRepo;
+import com.delivery_tracker_app.app.repository.DriverRepo;
+import com.delivery_tracker_app.app.service.EntityCounters;
+import com.delivery_tracker_app.app.service.EntityCounters.CountedTable;
+import com.delivery_tracker_app.app.service.LocationSuggestions;
+import com.delivery_tracker_app.app.service.TransportLogAnalytics;
+import com.delivery_tracker_app.app.service.TransportLogImportService;
+import com.delivery_tracker_app.app.service.TransportLogTextIndex;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports historical transport logs from CSV files in the background.
+ * <p>
+ * The file is parsed one record at a time, client and driver references are resolved against maps
+ * loaded once per job, and valid rows are inserted through a Hibernate {@link StatelessSession} in
+ * JDBC batches, one transaction per chunk. Progress is kept in memory and exposed per job id.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransportLogImportServiceImpl implements TransportLogImportService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final ClientRepo clientRepo;
+    private final DriverRepo driverRepo;
+    private final TransportLogMapper transportLogMapper;
+    private final TransportLogCsvMapper transportLogCsvMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Validator validator;
+    // Named after Boot's executor bean: the scheduler enabled in SchedulingConfig is a TaskExecutor too
+    private final TaskExecutor applicationTaskExecutor;
+    private final TransportLogProperties transportLogProperties;
+    private final EntityCounters entityCounters;
+    private final TransportLogTextIndex transportLogTextIndex;
+    private final LocationSuggestions locationSuggestions;
+    private final TransportLogAnalytics transportLogAnalytics;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public TransportLogImportStatus startImport(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Import file is empty !");
+        }
+        pruneFinishedJobs();
+
+        // The multipart upload is gone once the request ends, so keep our own copy for the worker
+        Path copy;
+        try {
+            copy = Files.createTempFile("transport-log-import-", ".csv");
+            file.transferTo(copy);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store import file", e);
+        }
+
+        String fileName = file.getOriginalFilename();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), fileName);
+        jobs.put(job.id, job);
+        boolean gzip = fileName != null && fileName.endsWith(".gz");
+        applicationTaskExecutor.execute(() -> run(job, copy, gzip));
+        return job.toStatus();
+    }
+
+    @Override
+    public TransportLogImportStatus getStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found !");
+        }
+        return job.toStatus();
+    }
+
+    private void run(ImportJob job, Path file, boolean gzip) {
+        job.start();
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = gzip ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            importRecords(job, reader);
+            job.finish(TransportLogImportStatus.State.COMPLETED);
+        } catch (Exception e) {
+            log.error("Transport log import {} failed", job.id, e);
+            job.reject(0, e.getMessage(), transportLogProperties.getImportMaxReportedErrors());
+            job.finish(TransportLogImportStatus.State.FAILED);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+        log.info("Transport log import {} {}: {} read, {} imported, {} rejected, {} rows/s",
+                job.id, job.state, job.rowsRead.get(), job.rowsImported.get(), job.rowsRejected.get(),
+                String.format("%.1f", job.rowsPerSecond()));
+    }
+
+    private void importRecords(ImportJob job, BufferedReader reader) throws IOException {
+        List<String> headerRecord = transportLogCsvMapper.readRecord(reader);
+        if (headerRecord == null) {
+            throw new IllegalArgumentException("File has no header row");
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < headerRecord.size(); i++) {
+            header.put(headerRecord.get(i).trim(), i);
+        }
+        if (!header.containsKey("clientId") && !header.containsKey("clientIdentityId")) {
+            throw new IllegalArgumentException("Header must contain clientId or clientIdentityId");
+        }
+        if (!header.containsKey("driverId") && !header.containsKey("driverPlateNumber")) {
+            throw new IllegalArgumentException("Header must contain driverId or driverPlateNumber");
+        }
+
+        // Built once per job: every row is resolved in memory instead of hitting the database
+        References clients = References.of(clientRepo.findAllReferenceKeys());
+        References drivers = References.of(driverRepo.findAllReferenceKeys());
+
+        int chunkSize = transportLogProperties.getImportChunkSize();
+        int maxErrors = transportLogProperties.getImportMaxReportedErrors();
+        List<CreateTransportLogRequest> chunk = new ArrayList<>(chunkSize);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        long row = 1; // the header is row 1, as in a spreadsheet
+        List<String> record;
+        while ((record = transportLogCsvMapper.readRecord(reader)) != null) {
+            row++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            job.rowsRead.incrementAndGet();
+
+            try {
+                Long clientId = clients.resolve(
+                        transportLogCsvMapper.field(header, record, "clientId"),
+                        transportLogCsvMapper.field(header, record, "clientIdentityId"));
+                if (clientId == null) {
+                    throw new IllegalArgumentException("Client not found !");
+                }
+                Long driverId = drivers.resolve(
+                        transportLogCsvMapper.field(header, record, "driverId"),
+                        transportLogCsvMapper.field(header, record, "driverPlateNumber"));
+                if (driverId == null) {
+                    throw new IllegalArgumentException("Driver not found !");
+                }
+
+                CreateTransportLogRequest request = transportLogCsvMapper.toCreateRequest(header, record, clientId, driverId);
+                Set<ConstraintViolation<CreateTransportLogRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    throw new IllegalArgumentException(violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                }
+                chunk.add(request);
+            } catch (IllegalArgumentException e) {
+                job.reject(row, e.getMessage(), maxErrors);
+                continue;
+            }
+
+            if (chunk.size() == chunkSize) {
+                insertChunk(sessionFactory, chunk);
+                job.rowsImported.addAndGet(chunk.size());
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(sessionFactory, chunk);
+            job.rowsImported.addAndGet(chunk.size());
+        }
+    }
+
+    private void insertChunk(SessionFactory sessionFactory, List<CreateTransportLogRequest> chunk) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(transportLogProperties.getBatchSize());
+            Transaction transaction = session.beginTransaction();
+            List<TransportLogTextDocument> documents = new ArrayList<>(chunk.size());
+            List<TransportLogFacts> facts = new ArrayList<>(chunk.size());
+            try {
+                for (CreateTransportLogRequest request : chunk) {
+                    // Id-only references are enough to write the foreign keys. Hibernate rejects
+                    // versioned stubs whose version is null, the placeholder is never read.
+                    Client client = Client.builder().id(request.clientId()).version(0L).build();
+                    Driver driver = Driver.builder().id(request.driverId()).version(0L).build();
+                    TransportLog transportLog = transportLogMapper.toEntity(request, client, driver);
+                    session.insert(transportLog);
+                    documents.add(transportLogMapper.toTextDocument(transportLog));
+                    facts.add(transportLogMapper.toFacts(transportLog));
+                }
+                transaction.commit();
+                entityCounters.increment(CountedTable.TRANSPORT_LOG, chunk.size());
+                transportLogTextIndex.upsert(documents);
+                locationSuggestions.added(documents);
+                transportLogAnalytics.upsert(facts);
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    /**
+     * Resolves a reference given either as a database id or as a natural key.
+     */
+    private record References(Set<Long> ids, Map<String, Long> byKey) {
+
+        static References of(List<ReferenceKey> keys) {
+            Set<Long> ids = new HashSet<>(keys.size() * 2);
+            Map<String, Long> byKey = new HashMap<>(keys.size() * 2);
+            for (ReferenceKey key : keys) {
+                ids.add(key.id());
+                if (key.key() != null) {
+                    byKey.putIfAbsent(key.key(), key.id());
+                }
+            }
+            return new References(ids, byKey);
+        }
+
+        Long resolve(String id, String key) {
+            if (id != null) {
+                try {
+                    Long parsed = Long.valueOf(id);
+                    return ids.contains(parsed) ? parsed : null;
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("invalid id '" + id + "'");
+                }
+            }
+            return key == null ? null : byKey.get(key);
+        }
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile TransportLogImportStatus.State state = TransportLogImportStatus.State.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        private ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        private void start() {
+            startedAt = Instant.now();
+            state = TransportLogImportStatus.State.RUNNING;
+        }
+
+        private void finish(TransportLogImportStatus.State finalState) {
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+
+        private void reject(long row, String message, int maxErrors) {
+            if (row > 0) {
+                rowsRejected.incrementAndGet();
+            }
+            if (errors.size() < maxErrors) {
+                errors.add(row > 0 ? "row " + row + ": " + message : message);
+            }
+        }
+
+        private double rowsPerSecond() {
+            if (startedAt == null) {
+                return 0;
+            }
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return rowsImported.get() * 1000.0 / millis;
+        }
+
+        private TransportLogImportStatus toStatus() {
+            List<String> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = List.copyOf(errors);
+            }
+            return new TransportLogImportStatus(id, state, fileName, rowsRead.get(), rowsImported.get(),
+                    rowsRejected.get(), rowsPerSecond(), errorsCopy, startedAt, finishedAt);
+        }
+    }
+}
@@ -1,27 +1,67 @@
 package com.delivery_tracker_app.app.service.serviceimpl;
 
+import com.delivery_tracker_app.app.config.CacheConfig;
+import com.delivery_tracker_app.app.config.TransportLogProperties;
+import com.delivery_tracker_app.app.dto.v1.analytics.TransportLogFacts;
+import com.delivery_tracker_app.app.dto.v1.common.BulkOperationResponse;
+import com.delivery_tracker_app.app.dto.v1.common.CursorPagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.ETags;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.PatchTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBatchItemResult;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBatchResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkDeleteRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogBulkUpdateRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogCursor;
 import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogRow;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogSearchCriteria;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogVersions;
 import com.delivery_tracker_app.app.dto.v1.transportLog.UpdateTransportLogRequest;
 import com.delivery_tracker_app.app.entity.Client;
 import com.delivery_tracker_app.app.entity.Driver;
 import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.exception.BadRequestException;
+import com.delivery_tracker_app.app.exception.PreconditionFailedException;
 import com.delivery_tracker_app.app.exception.ResourceNotFoundException;
 import com.delivery_tracker_app.app.mapper.TransportLogMapper;
 import com.delivery_tracker_app.app.repository.ClientRepo;
 import com.delivery_tracker_app.app.repository.DriverRepo;
 import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.repository.TransportLogSpecifications;
+import com.delivery_tracker_app.app.service.EntityCounters;
+import com.delivery_tracker_app.app.service.EntityCounters.CountedTable;
+import com.delivery_tracker_app.app.service.LocationSuggestions;
+import com.delivery_tracker_app.app.service.TransportLogAnalytics;
 import com.delivery_tracker_app.app.service.TransportLogService;
-import jakarta.transaction.Transactional;
+import com.delivery_tracker_app.app.service.TransportLogTextIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -32,6 +72,13 @@ public class TransportLogServiceImpl implements TransportLogService {
     private final ClientRepo clientRepo;
     private final DriverRepo driverRepo;
     private final TransportLogMapper transportLogMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransportLogProperties transportLogProperties;
+    private final EntityCounters entityCounters;
+    private final TransportLogTextIndex transportLogTextIndex;
+    private final LocationSuggestions locationSuggestions;
+    private final TransportLogAnalytics transportLogAnalytics;
 
     @Transactional
     @Override
@@ -45,31 +92,218 @@ public class TransportLogServiceImpl implements TransportLogService {
         );
 
         TransportLog saved = transportLogRepo.save(transportLogMapper.toEntity(request, client, driver));
+        entityCounters.increment(CountedTable.TRANSPORT_LOG, 1);
+        TransportLogTextDocument document = transportLogMapper.toTextDocument(saved);
+        transportLogTextIndex.upsert(List.of(document));
+        locationSuggestions.added(List.of(document));
+        transportLogAnalytics.upsert(List.of(transportLogMapper.toFacts(saved)));
         return transportLogMapper.toDto(saved);
     }
 
+    @Transactional
+    @Override
+    public TransportLogBatchResponse createBatch(List<CreateTransportLogRequest> items) {
+        if (items.size() > transportLogProperties.getMaxBatchItems()) {
+            throw new BadRequestException("A batch may contain at most " + transportLogProperties.getMaxBatchItems() + " items !");
+        }
+
+        // One IN query per association instead of two findById calls per item
+        Map<Long, Client> clients = clientRepo.findAllById(referencedIds(items, CreateTransportLogRequest::clientId)).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        Map<Long, Driver> drivers = driverRepo.findAllById(referencedIds(items, CreateTransportLogRequest::driverId)).stream()
+                .collect(Collectors.toMap(Driver::getId, Function.identity()));
+
+        int batchSize = transportLogProperties.getBatchSize();
+        List<TransportLogBatchItemResult> results = new ArrayList<>(items.size());
+        List<TransportLogTextDocument> documents = new ArrayList<>();
+        List<TransportLogFacts> facts = new ArrayList<>();
+        int created = 0;
+        int pending = 0;
+        for (int i = 0; i < items.size(); i++) {
+            CreateTransportLogRequest item = items.get(i);
+            String error = validate(item, clients, drivers);
+            if (error != null) {
+                results.add(TransportLogBatchItemResult.failed(i, error));
+                continue;
+            }
+
+            // Ids come from the pooled sequence, so they are known before the insert is flushed
+            TransportLog saved = transportLogRepo.save(
+                    transportLogMapper.toEntity(item, clients.get(item.clientId()), drivers.get(item.driverId())));
+            results.add(TransportLogBatchItemResult.created(i, saved.getId()));
+            documents.add(transportLogMapper.toTextDocument(saved));
+            facts.add(transportLogMapper.toFacts(saved));
+            created++;
+
+            if (++pending == batchSize) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        flushAndClear();
+        entityCounters.increment(CountedTable.TRANSPORT_LOG, created);
+        transportLogTextIndex.upsert(documents);
+        locationSuggestions.added(documents);
+        transportLogAnalytics.upsert(facts);
+
+        log.info("Batch create processed {} transport logs: {} created, {} failed", items.size(), created, items.size() - created);
+        return new TransportLogBatchResponse(created, items.size() - created, results);
+    }
+
+    private static Set<Long> referencedIds(List<CreateTransportLogRequest> items, Function<CreateTransportLogRequest, Long> id) {
+        return items.stream().filter(Objects::nonNull).map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private String validate(CreateTransportLogRequest item, Map<Long, Client> clients, Map<Long, Driver> drivers) {
+        if (item == null) {
+            return "Item is required !";
+        }
+        Set<ConstraintViolation<CreateTransportLogRequest>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            StringBuilder message = new StringBuilder("Validation failed: ");
+            violations.forEach(violation ->
+                    message.append(String.format("[%s: %s] ", violation.getPropertyPath(), violation.getMessage()))
+            );
+            return message.toString().trim();
+        }
+        if (!clients.containsKey(item.clientId())) {
+            return "Client not found !";
+        }
+        if (!drivers.containsKey(item.driverId())) {
+            return "Driver not found !";
+        }
+        return null;
+    }
+
+    private void flushAndClear() {
+        // Sends the pending inserts as JDBC batches and keeps the persistence context small
+        transportLogRepo.flush();
+        entityManager.clear();
+    }
+
+    // One select for the log with its client and driver, then a single UPDATE at flush
+    @CachePut(cacheNames = CacheConfig.TRANSPORT_LOGS, key = "#result.id()")
     @Transactional
     @Override
     public TransportLogResponse update(UpdateTransportLogRequest request) {
-        TransportLog existing = transportLogRepo.findById(request.id())
-                .orElseThrow(() -> new ResourceNotFoundException("Transport log not found!"));
+        TransportLog existing = loadForUpdate(request.id(), request.version());
+        TransportLogTextDocument before = transportLogMapper.toTextDocument(existing);
+        setAssociations(existing, request.clientId(), request.driverId());
+        transportLogMapper.updateEntity(existing, request);
 
-        Client client = clientRepo.findById(request.clientId()).orElseThrow(
-                () -> new ResourceNotFoundException("Client not found !")
-        );
+        // Flushing bumps the version now, so the response and its ETag carry the new one
+        transportLogRepo.flush();
+        indexChange(before, existing);
+        return transportLogMapper.toDto(existing);
+    }
 
-        Driver driver = driverRepo.findById(request.driverId()).orElseThrow(
-                () -> new ResourceNotFoundException("Driver not found !")
-        );
+    @CachePut(cacheNames = CacheConfig.TRANSPORT_LOGS, key = "#result.id()")
+    @Transactional
+    @Override
+    public TransportLogResponse patch(Long id, PatchTransportLogRequest request) {
+        TransportLog existing = loadForUpdate(id, request.version());
+        TransportLogTextDocument before = transportLogMapper.toTextDocument(existing);
+        setAssociations(existing, request.clientId(), request.driverId());
+        transportLogMapper.patchEntity(existing, request);
 
-        TransportLog updated = transportLogRepo.save(transportLogMapper.toEntity(request, client, driver));
-        return transportLogMapper.toDto(updated);
+        // @DynamicUpdate on TransportLog limits the UPDATE to the columns that changed
+        transportLogRepo.flush();
+        indexChange(before, existing);
+        return transportLogMapper.toDto(existing);
     }
 
+    private void indexChange(TransportLogTextDocument before, TransportLog updated) {
+        TransportLogTextDocument after = transportLogMapper.toTextDocument(updated);
+        transportLogTextIndex.upsert(List.of(after));
+        locationSuggestions.changed(before, after);
+        transportLogAnalytics.upsert(List.of(transportLogMapper.toFacts(updated)));
+    }
+
+    private TransportLog loadForUpdate(Long id, Long expectedVersion) {
+        TransportLog existing = transportLogRepo.findWithClientAndDriverById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Transport log not found!"));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new PreconditionFailedException("Transport log was modified since it was read !");
+        }
+        return existing;
+    }
+
+    private void setAssociations(TransportLog target, Long clientId, Long driverId) {
+        // Only looked up when they change; findById is usually answered by the second-level cache
+        if (clientId != null && (target.getClient() == null || !clientId.equals(target.getClient().getId()))) {
+            target.setClient(clientRepo.findById(clientId).orElseThrow(
+                    () -> new ResourceNotFoundException("Client not found !")));
+        }
+        if (driverId != null && (target.getDriver() == null || !driverId.equals(target.getDriver().getId()))) {
+            target.setDriver(driverRepo.findById(driverId).orElseThrow(
+                    () -> new ResourceNotFoundException("Driver not found !")));
+        }
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public PagedResponse<TransportLogResponse> getAll(int page, int size) {
+        // No COUNT(*) here: the page is read as a slice and the total comes from the counters
         Pageable pageable = PageRequest.of(page, size);
-        Page<TransportLog> pageResult =  transportLogRepo.findAll(pageable);
+        Slice<TransportLogRow> sliceResult = transportLogRepo.findRowSlice(pageable);
+        List<TransportLogResponse> data = sliceResult.getContent().stream().map(transportLogMapper::toDto).toList();
+
+        // On a non-empty last page the total is known for sure; elsewhere the estimate is
+        // raised if needed so it never contradicts what this page has already shown
+        long seen = pageable.getOffset() + data.size();
+        boolean exact = !sliceResult.hasNext() && (!data.isEmpty() || page == 0);
+        long total = exact ? seen : Math.max(entityCounters.get(CountedTable.TRANSPORT_LOG), seen + (sliceResult.hasNext() ? 1 : 0));
+
+        return new PagedResponse<>(
+                data,
+                page,
+                size,
+                total,
+                (int) ((total + size - 1) / size),
+                !sliceResult.hasNext(),
+                exact
+        );
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public SliceResponse<TransportLogResponse> getSlice(int page, int size) {
+        Slice<TransportLogRow> sliceResult = transportLogRepo.findRowSlice(PageRequest.of(page, size));
+        List<TransportLogResponse> data = sliceResult.getContent().stream().map(transportLogMapper::toDto).toList();
+
+        return new SliceResponse<>(data, sliceResult.getNumber(), sliceResult.getSize(), sliceResult.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPagedResponse<TransportLogResponse> getAfter(String after, int size) {
+        // Fetch one extra row to know whether another page exists without counting
+        Limit limit = Limit.of(size + 1);
+        List<TransportLog> rows;
+        if (after == null || after.isBlank()) {
+            rows = transportLogRepo.findFirstKeysetPage(limit);
+        } else {
+            TransportLogCursor cursor = TransportLogCursor.decode(after);
+            rows = transportLogRepo.findKeysetPageAfter(cursor.loadDate(), cursor.id(), limit);
+        }
+
+        boolean last = rows.size() <= size;
+        List<TransportLog> pageRows = last ? rows : rows.subList(0, size);
+        List<TransportLogResponse> data = pageRows.stream().map(transportLogMapper::toDto).toList();
+
+        String nextCursor = null;
+        if (!last) {
+            TransportLog tail = pageRows.get(pageRows.size() - 1);
+            nextCursor = new TransportLogCursor(tail.getLoadDate(), tail.getId()).encode();
+        }
+        return new CursorPagedResponse<>(data, size, nextCursor, last);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public PagedResponse<TransportLogResponse> search(TransportLogSearchCriteria criteria, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Order.desc("loadDate"), Sort.Order.desc("id")));
+        Page<TransportLog> pageResult = transportLogRepo.findAll(TransportLogSpecifications.matching(criteria), pageable);
         List<TransportLogResponse> data = pageResult.getContent().stream().map(transportLogMapper::toDto).toList();
 
         return new PagedResponse<>(
@@ -82,20 +316,82 @@ public class TransportLogServiceImpl implements TransportLogService {
         );
     }
 
+    // On the primary: a replica lagging behind a write would put the previous state back into the cache
+    @Cacheable(cacheNames = CacheConfig.TRANSPORT_LOGS, key = "#id")
+    @Transactional
     @Override
     public TransportLogResponse getById(Long id) {
-        TransportLog transportLog = transportLogRepo.findById(id).orElseThrow(
+        TransportLogRow row = transportLogRepo.findRowById(id).orElseThrow(
+                () -> new ResourceNotFoundException("Transport log not found !")
+        );
+        return transportLogMapper.toDto(row);
+    }
+
+    // On the primary: a replica lagging behind a PUT would answer 304 with the previous version
+    @Transactional
+    @Override
+    public String getETag(Long id) {
+        TransportLogVersions versions = transportLogRepo.findVersionsById(id).orElseThrow(
                 () -> new ResourceNotFoundException("Transport log not found !")
         );
-        return transportLogMapper.toDto(transportLog);
+        return ETags.of(versions.version(), versions.clientVersion(), versions.driverVersion());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSPORT_LOGS, key = "#id")
     @Transactional
     @Override
     public void delete(Long id) {
-        TransportLog existing = transportLogRepo.findById(id)
+        // Read first for the suggestion counts, which need the values being removed
+        TransportLogTextDocument document = transportLogRepo.findTextDocumentById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transport log not found!"));
+        if (transportLogRepo.deleteRowById(id) == 0) {
+            throw new ResourceNotFoundException("Transport log not found!");
+        }
+        entityCounters.decrement(CountedTable.TRANSPORT_LOG, 1);
+        transportLogTextIndex.remove(List.of(id));
+        locationSuggestions.removed(List.of(document));
+        transportLogAnalytics.remove(List.of(id));
+    }
+
+    // Any cached log may be among the affected rows, so the whole cache is dropped
+    @CacheEvict(cacheNames = CacheConfig.TRANSPORT_LOGS, allEntries = true)
+    @Transactional
+    @Override
+    public BulkOperationResponse bulkUpdate(TransportLogBulkUpdateRequest request) {
+        checkBulkSelection(request.ids(), request.criteria());
+        if (request.advance() == null && request.fuelQuantity() == null && request.fuelPricePerLiter() == null
+                && request.variableCharge() == null && request.chargePrice() == null && request.clientTariff() == null
+                && request.tripPrice() == null && request.operator() == null && request.commercial() == null) {
+            throw new BadRequestException("Nothing to update !");
+        }
+        int affected = transportLogRepo.updateMatching(request.ids(), request.criteria(), request);
+        transportLogAnalytics.invalidate();
+        return new BulkOperationResponse(affected);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TRANSPORT_LOGS, allEntries = true)
+    @Transactional
+    @Override
+    public BulkOperationResponse bulkDelete(TransportLogBulkDeleteRequest request) {
+        checkBulkSelection(request.ids(), request.criteria());
+        int affected = transportLogRepo.deleteMatching(request.ids(), request.criteria());
+        entityCounters.decrement(CountedTable.TRANSPORT_LOG, affected);
+        // The deleted ids are not known without selecting them first
+        transportLogTextIndex.invalidate();
+        locationSuggestions.invalidate();
+        transportLogAnalytics.invalidate();
+        return new BulkOperationResponse(affected);
+    }
 
-        transportLogRepo.delete(existing);
+    private void checkBulkSelection(List<Long> ids, TransportLogSearchCriteria criteria) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasCriteria = criteria != null && !TransportLogSpecifications.isEmpty(criteria);
+        // Refuse to touch the whole table because of a forgotten filter
+        if (!hasIds && !hasCriteria) {
+            throw new BadRequestException("Select the rows by ids or by at least one criterion !");
+        }
+        if (hasIds && ids.size() > transportLogProperties.getMaxBatchItems()) {
+            throw new BadRequestException("A bulk request may list at most " + transportLogProperties.getMaxBatchItems() + " ids !");
+        }
     }
 }
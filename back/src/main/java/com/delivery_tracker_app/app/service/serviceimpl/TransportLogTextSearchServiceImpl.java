@@ -0,0 +1,56 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.LocationSuggestion;
+import com.delivery_tracker_app.app.dto.v1.transportLog.SuggestionField;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogRow;
+import com.delivery_tracker_app.app.mapper.TransportLogMapper;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.service.LocationSuggestions;
+import com.delivery_tracker_app.app.service.TransportLogTextIndex;
+import com.delivery_tracker_app.app.service.TransportLogTextIndex.Hits;
+import com.delivery_tracker_app.app.service.TransportLogTextSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TransportLogTextSearchServiceImpl implements TransportLogTextSearchService {
+
+    private final TransportLogTextIndex transportLogTextIndex;
+    private final TransportLogRepo transportLogRepo;
+    private final TransportLogMapper transportLogMapper;
+    private final LocationSuggestions locationSuggestions;
+
+    @Transactional(readOnly = true)
+    @Override
+    public PagedResponse<TransportLogResponse> search(String query, int page, int size) {
+        Hits hits = transportLogTextIndex.search(query, page * size, size);
+
+        // One IN query for the page, then back into rank order; ids deleted meanwhile drop out
+        Map<Long, TransportLogRow> rows = hits.ids().isEmpty() ? Map.of()
+                : transportLogRepo.findRowsByIdIn(hits.ids()).stream()
+                        .collect(Collectors.toMap(TransportLogRow::id, Function.identity()));
+        List<TransportLogResponse> data = hits.ids().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(transportLogMapper::toDto)
+                .toList();
+
+        int totalPages = (int) ((hits.total() + size - 1) / size);
+        return new PagedResponse<>(data, page, size, hits.total(), totalPages, page + 1 >= totalPages);
+    }
+
+    @Override
+    public List<LocationSuggestion> suggest(SuggestionField field, String prefix, int limit) {
+        return locationSuggestions.suggest(field, prefix, limit);
+    }
+}
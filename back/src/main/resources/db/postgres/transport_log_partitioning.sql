@@ -0,0 +1,68 @@
+-- Converts transport_log into a table range-partitioned by month on load_date (PostgreSQL 13+).
+--
+-- Run once, with the application stopped, then start it with app.archive.partitioned=true so the
+-- coming months keep being created ahead of time. Every row is copied, so budget for a full table
+-- rewrite. Partition keys cannot be null: logs without a load_date must be fixed before running.
+--
+-- Date-filtered queries then only read the partitions of the requested months, and the archiver
+-- can drop a month as a whole once it has moved all of its rows.
+
+begin;
+
+lock table transport_log in access exclusive mode;
+alter table transport_log rename to transport_log_unpartitioned;
+
+-- Index names are unique per schema; free them for the new table
+do $$
+declare
+    idx record;
+begin
+    for idx in select indexname from pg_indexes where tablename = 'transport_log_unpartitioned' loop
+        execute format('alter index %I rename to %I', idx.indexname, idx.indexname || '_unpartitioned');
+    end loop;
+end $$;
+
+create table transport_log (like transport_log_unpartitioned including defaults)
+    partition by range (load_date);
+
+-- A primary key on a partitioned table must contain the partition key; ids stay unique through
+-- transport_log_seq
+alter table transport_log alter column load_date set not null;
+alter table transport_log add primary key (id, load_date);
+alter table transport_log add foreign key (client_id) references client (id);
+alter table transport_log add foreign key (driver_id) references driver (id);
+
+-- Same indexes as declared on the TransportLog entity, created on every partition
+create index idx_transport_log_load_date_id on transport_log (load_date, id);
+create index idx_transport_log_client_load_date on transport_log (client_id, load_date);
+create index idx_transport_log_driver_load_date on transport_log (driver_id, load_date);
+create index idx_transport_log_unload_date on transport_log (unload_date);
+create index idx_transport_log_destination_name on transport_log (destination_name);
+create index idx_transport_log_operator on transport_log (operator);
+create index idx_transport_log_commercial on transport_log (commercial);
+create index idx_transport_log_id_version on transport_log (id, version);
+
+-- One partition per month from the oldest log to three months ahead; anything outside goes to
+-- the default partition
+do $$
+declare
+    month date;
+begin
+    for month in
+        select generate_series(date_trunc('month', coalesce(min(load_date), current_date)),
+                               date_trunc('month', current_date + interval '3 months'),
+                               interval '1 month')::date
+        from transport_log_unpartitioned
+    loop
+        execute format('create table %I partition of transport_log for values from (%L) to (%L)',
+                       'transport_log_p' || to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+    end loop;
+end $$;
+create table transport_log_default partition of transport_log default;
+
+insert into transport_log select * from transport_log_unpartitioned;
+drop table transport_log_unpartitioned;
+
+commit;
+
+analyze transport_log;
@@ -0,0 +1,172 @@
+package com.delivery_tracker_app.app.config;
+
+import com.delivery_tracker_app.app.dto.v1.client.ClientResponse;
+import com.delivery_tracker_app.app.dto.v1.client.CreateClientRequest;
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.repository.ClientRepo;
+import com.delivery_tracker_app.app.service.ClientService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two embedded H2 databases standing in for the primary and its replica. The
+ * replica gets the primary's schema but not its rows, so every read shows which one served it.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "app.jwt.secret=test-secret-key-that-is-long-enough",
+        "app.user.username=testuser",
+        "app.user.password=testpass",
+        "app.user.roles=ADMIN",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class DataSourceRoutingTest {
+
+    // A real replica already has the schema when the application starts; this one gets just
+    // enough for the startup reads, and the full schema is copied from the primary before each test
+    static {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "sa", "")) {
+            connection.createStatement().execute("create table client (id bigint); create table driver (id bigint);"
+                    + " create table transport_log (id bigint)");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path schema = Files.createTempFile("routing-schema", ".sql");
+        new JdbcTemplate(primaryDataSource).execute("script nodata to '" + schema + "'");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop all objects");
+        replica.execute("runscript from '" + schema + "'");
+        Files.delete(schema);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        clientRepo.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("should write to the primary and serve read-only service methods from the replica")
+    void readOnlyTransactions_ShouldUseReplica() {
+        // Arrange: each database holds a different client
+        clientRepo.save(Client.builder().name("Acme").identityId("ID-1").build());
+        new JdbcTemplate(replicaDataSource).update(
+                "insert into client (id, name, identity_id, version) values (100, 'Replicated', 'ID-R', 0)");
+
+        // Act
+        List<ClientResponse> clients = clientService.getAll(0, 10).data();
+
+        // Assert
+        assertThat(new JdbcTemplate(primaryDataSource).queryForList("select name from client", String.class))
+                .containsExactly("Acme");
+        assertThat(clients).extracting(ClientResponse::name).containsExactly("Replicated");
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should keep replica reads out of the caches and fill them from the primary only")
+    void caches_ShouldOnlyBeFilledFromPrimary() {
+        // Arrange
+        Client acme = clientRepo.save(Client.builder().name("Acme").identityId("ID-1").build());
+        new JdbcTemplate(replicaDataSource).update(
+                "insert into client (id, name, identity_id, version) values (100, 'Replicated', 'ID-R', 0)");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<ClientResponse> fromReplica = clientService.getAll(0, 10).data();
+        long queryCachePuts = statistics.getQueryCachePutCount();
+        long entityCachePuts = statistics.getSecondLevelCachePutCount();
+        ClientResponse cached = clientService.getById(acme.getId());
+
+        // Assert
+        assertThat(fromReplica).extracting(ClientResponse::name).containsExactly("Replicated");
+        assertThat(queryCachePuts).isZero();
+        assertThat(entityCachePuts).isZero();
+        assertThat(cached.name()).isEqualTo("Acme");
+    }
+
+    @Test
+    @DisplayName("should rebuild the lookup list from the primary once a write has committed")
+    void lookup_ShouldBeBuiltFromPrimary() {
+        // Arrange: the replica has not seen the new client yet
+        new JdbcTemplate(replicaDataSource).update(
+                "insert into client (id, name, identity_id, version) values (100, 'Replicated', 'ID-R', 0)");
+        clientService.create(new CreateClientRequest("Acme", "ID-1"));
+
+        // Act
+        List<LookupItem> items = clientService.getLookup().items();
+
+        // Assert
+        assertThat(items).extracting(LookupItem::label).containsExactly("Acme");
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary when the replica cannot hand out connections")
+    @DirtiesContext
+    void readOnlyTransactions_ShouldFallBackToPrimary() {
+        // Arrange
+        clientRepo.save(Client.builder().name("Acme").identityId("ID-1").build());
+        replicaDataSource.close();
+
+        // Act
+        long first = clientService.getAll(0, 10).totalElements();
+        long second = clientService.getAll(0, 10).totalElements();
+
+        // Assert: one failed attempt, then the replica is skipped until the retry delay has passed
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(meterRegistry.counter("app.datasource.replica.fallbacks").count()).isEqualTo(1);
+    }
+}
@@ -1,7 +1,10 @@
 package com.delivery_tracker_app.app.controller.v1;
 
 import com.delivery_tracker_app.app.config.TestSecurityConfig;
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
+import com.delivery_tracker_app.app.dto.v1.common.SliceResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.CreateDriverRequest;
 import com.delivery_tracker_app.app.dto.v1.driver.DriverResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.UpdateDriverRequest;
@@ -51,7 +54,7 @@ class DriverControllerTest {
     void createDriver_ShouldReturn201Created() throws Exception {
         // Arrange
         CreateDriverRequest request = new CreateDriverRequest("John Doe", "A12345");
-        DriverResponse mockResponse = new DriverResponse(1L, "John Doe", "A12345");
+        DriverResponse mockResponse = new DriverResponse(1L, "John Doe", "A12345", 0L);
         when(driverService.create(any(CreateDriverRequest.class))).thenReturn(mockResponse);
 
         // Act
@@ -75,7 +78,7 @@ class DriverControllerTest {
     void updateDriver_ShouldReturn200Ok() throws Exception {
         // Arrange
         UpdateDriverRequest request = new UpdateDriverRequest(1L, "Jane Smith", "B67890");
-        DriverResponse mockResponse = new DriverResponse(1L, "Jane Smith", "B67890");
+        DriverResponse mockResponse = new DriverResponse(1L, "Jane Smith", "B67890", 0L);
         when(driverService.update(any(UpdateDriverRequest.class))).thenReturn(mockResponse);
 
         // Act
@@ -97,8 +100,8 @@ class DriverControllerTest {
     void getAllDrivers_ShouldReturn200OkWithPagedResponse() throws Exception {
         // Arrange
         List<DriverResponse> drivers = List.of(
-                new DriverResponse(1L, "Driver A", "LA001"),
-                new DriverResponse(2L, "Driver B", "LA002")
+                new DriverResponse(1L, "Driver A", "LA001", 0L),
+                new DriverResponse(2L, "Driver B", "LA002", 0L)
         );
         PagedResponse<DriverResponse> pagedResponse = new PagedResponse<>(drivers, 0, 10, 2L, 1, true);
         when(driverService.getAll(anyInt(), anyInt())).thenReturn(pagedResponse);
@@ -119,11 +122,58 @@ class DriverControllerTest {
         verify(driverService, times(1)).getAll(0, 10);
     }
 
+    @Test
+    @DisplayName("GET /api/v1/drivers?count=false should return a slice without totals")
+    void getAllDrivers_WithoutCount_ShouldReturnSliceResponse() throws Exception {
+        // Arrange
+        List<DriverResponse> drivers = List.of(new DriverResponse(1L, "Driver A", "LA001", 0L));
+        SliceResponse<DriverResponse> sliceResponse = new SliceResponse<>(drivers, 0, 1, true);
+        when(driverService.getSlice(anyInt(), anyInt())).thenReturn(sliceResponse);
+
+        // Act
+        ResultActions result = mockMvc.perform(get(API_BASE_URL)
+                .param("page", "0")
+                .param("size", "1")
+                .param("count", "false")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.data[0].name").value("Driver A"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+
+        verify(driverService, times(1)).getSlice(0, 1);
+        verify(driverService, never()).getAll(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/drivers/lookup should return id/label pairs with an ETag, then 304 when it matches")
+    void getLookup_ShouldReturnEtagAndHonourIfNoneMatch() throws Exception {
+        // Arrange
+        LookupSnapshot snapshot = LookupSnapshot.of(List.of(new LookupItem(1L, "John Doe (A12345)")));
+        when(driverService.getLookup()).thenReturn(snapshot);
+
+        // Act
+        ResultActions first = mockMvc.perform(get(API_BASE_URL + "/lookup").accept(MediaType.APPLICATION_JSON));
+        ResultActions repeat = mockMvc.perform(get(API_BASE_URL + "/lookup")
+                .header("If-None-Match", snapshot.etag())
+                .accept(MediaType.APPLICATION_JSON));
+
+        // Assert
+        first.andExpect(status().isOk())
+                .andExpect(header().string("ETag", snapshot.etag()))
+                .andExpect(jsonPath("$.data[0].id").value(1L))
+                .andExpect(jsonPath("$.data[0].label").value("John Doe (A12345)"));
+        repeat.andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("GET /api/v1/drivers/{id} should return a single driver with HTTP 200 OK")
     void getDriverById_ShouldReturn200Ok() throws Exception {
         // Arrange
-        DriverResponse mockResponse = new DriverResponse(1L, "John Doe", "A12345");
+        DriverResponse mockResponse = new DriverResponse(1L, "John Doe", "A12345", 0L);
         when(driverService.getById(1L)).thenReturn(mockResponse);
 
         // Act
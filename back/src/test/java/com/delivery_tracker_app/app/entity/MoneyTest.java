@@ -0,0 +1,62 @@
+package com.delivery_tracker_app.app.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the fixed-point amount type and its column and JSON mappings.
+ */
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private record Priced(Money tripPrice) {
+    }
+
+    @Test
+    @DisplayName("should hold cents and round half up like the numeric(38,2) columns")
+    void of_ShouldRoundToCents() {
+        // Act & Assert
+        assertThat(Money.parse("12.5").minorUnits()).isEqualTo(1250);
+        assertThat(Money.of(new BigDecimal("0.005"))).isEqualTo(Money.ofMinor(1));
+        assertThat(Money.of(new BigDecimal("-0.005"))).isEqualTo(Money.ofMinor(-1));
+        assertThat(Money.parse("1000").plus(Money.parse("0.25")).minus(Money.parse("800"))).hasToString("200.25");
+        assertThatThrownBy(() -> Money.parse("1e30")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("12,5")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should map to the decimal column and back without loss")
+    void converter_ShouldRoundTripDecimalColumn() {
+        // Arrange
+        MoneyConverter converter = new MoneyConverter();
+
+        // Act
+        BigDecimal column = converter.convertToDatabaseColumn(Money.parse("950.4"));
+
+        // Assert
+        assertThat(column).isEqualTo(new BigDecimal("950.40"));
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(Money.ofMinor(95040));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("should read and write JSON numbers as BigDecimal did")
+    void json_ShouldKeepNumberShape() throws Exception {
+        // Act & Assert
+        assertThat(objectMapper.writeValueAsString(new Priced(Money.parse("950")))).isEqualTo("{\"tripPrice\":950.00}");
+        assertThat(objectMapper.readValue("{\"tripPrice\":950}", Priced.class).tripPrice()).isEqualTo(Money.ofMinor(95000));
+        assertThat(objectMapper.readValue("{\"tripPrice\":\"12.5\"}", Priced.class).tripPrice()).isEqualTo(Money.ofMinor(1250));
+        assertThat(objectMapper.readValue("{\"tripPrice\":null}", Priced.class).tripPrice()).isNull();
+        assertThatThrownBy(() -> objectMapper.readValue("{\"tripPrice\":\"cheap\"}", Priced.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+}
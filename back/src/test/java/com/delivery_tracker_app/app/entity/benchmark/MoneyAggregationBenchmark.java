@@ -0,0 +1,95 @@
+package com.delivery_tracker_app.app.entity.benchmark;
+
+import com.delivery_tracker_app.app.entity.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revenue and margin totals over 1M transport logs, with the amounts held as {@link Money} and as
+ * {@link BigDecimal} read from a numeric(38,2) column.
+ * <p>
+ * Not part of the test run. After {@code mvn test-compile}, run {@link #main} from the IDE, or:
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.delivery_tracker_app.app.entity.benchmark.MoneyAggregationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    @Param("1000000")
+    private int rows;
+
+    private Money[] moneyTariffs;
+    private Money[] moneyTripPrices;
+    private BigDecimal[] decimalTariffs;
+    private BigDecimal[] decimalTripPrices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        moneyTariffs = new Money[rows];
+        moneyTripPrices = new Money[rows];
+        decimalTariffs = new BigDecimal[rows];
+        decimalTripPrices = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            long tariff = 50_000 + random.nextInt(500_000);
+            long tripPrice = tariff * (60 + random.nextInt(30)) / 100;
+            moneyTariffs[i] = Money.ofMinor(tariff);
+            moneyTripPrices[i] = Money.ofMinor(tripPrice);
+            decimalTariffs[i] = BigDecimal.valueOf(tariff, Money.SCALE);
+            decimalTripPrices[i] = BigDecimal.valueOf(tripPrice, Money.SCALE);
+        }
+    }
+
+    @Benchmark
+    public void money(Blackhole blackhole) {
+        Money revenue = Money.ZERO;
+        Money margin = Money.ZERO;
+        for (int i = 0; i < rows; i++) {
+            revenue = revenue.plus(moneyTariffs[i]);
+            margin = margin.plus(moneyTariffs[i].minus(moneyTripPrices[i]));
+        }
+        blackhole.consume(revenue);
+        blackhole.consume(margin);
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal margin = BigDecimal.ZERO;
+        for (int i = 0; i < rows; i++) {
+            revenue = revenue.add(decimalTariffs[i]);
+            margin = margin.add(decimalTariffs[i].subtract(decimalTripPrices[i]));
+        }
+        blackhole.consume(revenue);
+        blackhole.consume(margin);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyAggregationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
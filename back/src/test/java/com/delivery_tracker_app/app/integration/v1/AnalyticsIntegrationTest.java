@@ -0,0 +1,200 @@
+package com.delivery_tracker_app.app.integration.v1;
+
+import com.delivery_tracker_app.app.config.AnalyticsProperties;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsDimension;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsGroup;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsMeasure;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsQuery;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsResult;
+import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.repository.ClientRepo;
+import com.delivery_tracker_app.app.repository.DriverRepo;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.service.TransportLogAnalytics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the Analytics resource.
+ * Loads the full application context against the embedded database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "app.jwt.secret=test-secret-key-that-is-long-enough",
+        "app.user.username=testuser",
+        "app.user.password=testpass",
+        "app.user.roles=ADMIN"
+})
+class AnalyticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransportLogRepo transportLogRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Autowired
+    private DriverRepo driverRepo;
+
+    @Autowired
+    private TransportLogAnalytics transportLogAnalytics;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Client client;
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        client = clientRepo.save(Client.builder().name("Acme").identityId("ID-1").build());
+        driver = driverRepo.save(Driver.builder().name("John Doe").plateNumber("A12345").build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transportLogRepo.deleteAllInBatch();
+        clientRepo.deleteAllInBatch();
+        driverRepo.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/analytics/transport-logs should aggregate the loaded logs and follow API writes")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void aggregate_ShouldFollowWrites() throws Exception {
+        // Arrange: two January logs loaded from the table, then one February log created and one deleted through the API
+        TransportLog first = saveLog(LocalDate.of(2025, 1, 10), "1000");
+        saveLog(LocalDate.of(2025, 1, 20), "500.50");
+        transportLogAnalytics.reload();
+        mockMvc.perform(post("/api/v1/trans_logs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTransportLogRequest(
+                                client.getId(), driver.getId(),
+                                LocalDate.of(2025, 2, 3), "Casablanca", LocalDate.of(2025, 2, 4), "Tangier",
+                                "Port", null,
+                                Money.ZERO, BigDecimal.TEN, Money.parse("1"), Money.ZERO, Money.ZERO,
+                                Money.parse("700"), Money.parse("600"),
+                                "op", "com"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(delete("/api/v1/trans_logs/{id}", first.getId())).andExpect(status().isOk());
+
+        // Act
+        ResultActions result = mockMvc.perform(get("/api/v1/analytics/transport-logs")
+                .param("groupBy", "CLIENT", "MONTH")
+                .param("measures", "CLIENT_TARIFF", "FUEL_COST")
+                .param("loadDateFrom", "2025-01-01"));
+        ResultActions repeated = mockMvc.perform(get("/api/v1/analytics/transport-logs").param("groupBy", "MONTH", "MONTH"));
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.matched").value(2))
+                .andExpect(jsonPath("$.data.groups.length()").value(2))
+                .andExpect(jsonPath("$.data.groups[0].key.CLIENT").value(client.getId()))
+                .andExpect(jsonPath("$.data.groups[0].key.MONTH").value("2025-01"))
+                .andExpect(jsonPath("$.data.groups[0].trips").value(1))
+                .andExpect(jsonPath("$.data.groups[0].sums.CLIENT_TARIFF").value(500.50))
+                .andExpect(jsonPath("$.data.groups[0].sums.FUEL_COST").value(10))
+                .andExpect(jsonPath("$.data.groups[1].key.MONTH").value("2025-02"))
+                .andExpect(jsonPath("$.data.groups[1].sums.CLIENT_TARIFF").value(700))
+                .andExpect(jsonPath("$.data.groups[1].sums.TRIP_PRICE").doesNotExist());
+        repeated.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("a restart should reopen the snapshot and read only the logs changed since it was written")
+    void reload_ShouldStartFromSnapshot(@TempDir Path directory) {
+        // Arrange: a snapshot of two logs, then one updated, one deleted and one created without the service layer
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.setSnapshotFile(directory.resolve("transport-log.snapshot").toString());
+        TransportLog updated = saveLog(LocalDate.of(2025, 1, 10), "1000");
+        TransportLog deleted = saveLog(LocalDate.of(2025, 1, 20), "500.50");
+        TransportLog untouched = saveLog(LocalDate.of(2025, 1, 25), "100");
+        newAnalytics(properties).reload();
+        jdbcTemplate.update("update transport_log set client_tariff = 2000, version = version + 1 where id = ?", updated.getId());
+        jdbcTemplate.update("delete from transport_log where id = ?", deleted.getId());
+        saveLog(LocalDate.of(2025, 2, 3), "700");
+        // Changed without a new version, so only a full read of the table would see it
+        jdbcTemplate.update("update transport_log set client_tariff = 0 where id = ?", untouched.getId());
+        TransportLogAnalytics restarted = newAnalytics(properties);
+
+        // Act
+        restarted.reload();
+        AnalyticsResult result = restarted.query(new AnalyticsQuery(null, null, null, null, null, null, null, null),
+                List.of(AnalyticsDimension.MONTH), List.of(AnalyticsMeasure.CLIENT_TARIFF));
+
+        // Assert
+        assertThat(result.scanned()).isEqualTo(3);
+        assertThat(result.groups()).extracting(group -> group.key().get(AnalyticsDimension.MONTH))
+                .containsExactly(YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+        assertThat(result.groups()).extracting(AnalyticsGroup::trips).containsExactly(2L, 1L);
+        assertThat(result.groups()).extracting(group -> group.sums().get(AnalyticsMeasure.CLIENT_TARIFF))
+                .containsExactly(new BigDecimal("2100.00"), new BigDecimal("700.00"));
+    }
+
+    private TransportLogAnalytics newAnalytics(AnalyticsProperties properties) {
+        return new TransportLogAnalytics(dataSource, transactionManager, applicationTaskExecutor, properties);
+    }
+
+    private TransportLog saveLog(LocalDate loadDate, String clientTariff) {
+        return transportLogRepo.save(TransportLog.builder()
+                .client(client).driver(driver)
+                .loadDate(loadDate).loadLocation("Casablanca")
+                .unloadDate(loadDate.plusDays(1)).unloadLocation("Tangier")
+                .destinationName("Port")
+                .advance(Money.ZERO).fuelQuantity(BigDecimal.TEN).fuelPricePerLiter(Money.parse("1"))
+                .variableCharge(Money.ZERO).chargePrice(Money.ZERO)
+                .clientTariff(Money.parse(clientTariff)).tripPrice(Money.parse("800"))
+                .operator("op").commercial("com")
+                .build());
+    }
+}
@@ -0,0 +1,125 @@
+package com.delivery_tracker_app.app.integration.v1;
+
+import com.delivery_tracker_app.app.dto.v1.client.CreateClientRequest;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.repository.ClientRepo;
+import com.delivery_tracker_app.app.repository.DriverRepo;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.service.EntityCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the Dashboard resource.
+ * Loads the full application context against the embedded database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "app.jwt.secret=test-secret-key-that-is-long-enough",
+        "app.user.username=testuser",
+        "app.user.password=testpass",
+        "app.user.roles=ADMIN"
+})
+class DashboardIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransportLogRepo transportLogRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Autowired
+    private DriverRepo driverRepo;
+
+    @Autowired
+    private EntityCounters entityCounters;
+
+    private Client client;
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        client = clientRepo.save(Client.builder().name("Acme").identityId("ID-1").build());
+        driver = driverRepo.save(Driver.builder().name("John Doe").plateNumber("A12345").build());
+        // Rows above were written straight through the repositories, which the counters do not see
+        entityCounters.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transportLogRepo.deleteAllInBatch();
+        clientRepo.deleteAllInBatch();
+        driverRepo.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dashboard/summary should return counts, month totals and the latest logs")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void getSummary_ShouldReturnCountsTotalsAndLatestLogs() throws Exception {
+        // Arrange: one log this month, one last year, and a client created through the API
+        LocalDate today = LocalDate.now();
+        saveLog(today);
+        saveLog(today.minusYears(1));
+        entityCounters.reconcile();
+        mockMvc.perform(post("/api/v1/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateClientRequest("Beta", "ID-2"))))
+                .andExpect(status().isCreated());
+
+        // Act
+        ResultActions result = mockMvc.perform(get("/api/v1/dashboard/summary").param("latest", "1"));
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalClients").value(2))
+                .andExpect(jsonPath("$.data.totalDrivers").value(1))
+                .andExpect(jsonPath("$.data.totalTransportLogs").value(2))
+                .andExpect(jsonPath("$.data.monthTotals.trips").value(1))
+                .andExpect(jsonPath("$.data.monthTotals.revenue").value(1000))
+                .andExpect(jsonPath("$.data.latestLogs.length()").value(1))
+                .andExpect(jsonPath("$.data.latestLogs[0].loadDate").value(today.toString()));
+    }
+
+    private void saveLog(LocalDate loadDate) {
+        transportLogRepo.save(TransportLog.builder()
+                .client(client).driver(driver)
+                .loadDate(loadDate).loadLocation("Casablanca")
+                .unloadDate(loadDate.plusDays(1)).unloadLocation("Tangier")
+                .destinationName("Port")
+                .advance(Money.ZERO).fuelQuantity(BigDecimal.TEN).fuelPricePerLiter(Money.parse("1"))
+                .variableCharge(Money.ZERO).chargePrice(Money.ZERO)
+                .clientTariff(Money.parse("1000")).tripPrice(Money.parse("800"))
+                .operator("op").commercial("com")
+                .build());
+    }
+}
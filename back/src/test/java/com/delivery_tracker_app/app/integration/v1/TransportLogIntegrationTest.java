@@ -0,0 +1,667 @@
+package com.delivery_tracker_app.app.integration.v1;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogBatchRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.CreateTransportLogRequest;
+import com.delivery_tracker_app.app.dto.v1.transportLog.UpdateTransportLogRequest;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.repository.ClientRepo;
+import com.delivery_tracker_app.app.repository.DriverRepo;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.service.EntityCounters;
+import com.delivery_tracker_app.app.service.LocationSuggestions;
+import com.delivery_tracker_app.app.service.TransportLogIdSequence;
+import com.delivery_tracker_app.app.service.serviceimpl.InMemoryTransportLogTextIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the Transport Log resource.
+ * Loads the full application context against the embedded database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "app.jwt.secret=test-secret-key-that-is-long-enough",
+        "app.user.username=testuser",
+        "app.user.password=testpass",
+        "app.user.roles=ADMIN"
+})
+class TransportLogIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransportLogRepo transportLogRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Autowired
+    private DriverRepo driverRepo;
+
+    @Autowired
+    private EntityCounters entityCounters;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InMemoryTransportLogTextIndex transportLogTextIndex;
+
+    @Autowired
+    private LocationSuggestions locationSuggestions;
+
+    @Autowired
+    private TransportLogIdSequence transportLogIdSequence;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Client client;
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        client = clientRepo.save(Client.builder().name("Acme").identityId("ID-1").build());
+        driver = driverRepo.save(Driver.builder().name("John Doe").plateNumber("A12345").build());
+        // Rows cleared in bulk by the previous test are still in the text index
+        transportLogTextIndex.reload();
+        locationSuggestions.rebuild();
+    }
+
+    // Logs reference clients and drivers, so they must go before other tests clear those tables
+    @AfterEach
+    void cleanUp() {
+        transportLogRepo.deleteAllInBatch();
+        clientRepo.deleteAllInBatch();
+        driverRepo.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/trans_logs/batch should insert valid items and report failures per item")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void createBatch_ShouldReportPerItemResults() throws Exception {
+        // Arrange: second item references an unknown client, third one fails validation
+        CreateTransportLogBatchRequest request = new CreateTransportLogBatchRequest(List.of(
+                createRequest(client.getId(), "Port"),
+                createRequest(Long.MAX_VALUE, "Port"),
+                createRequest(client.getId(), " "),
+                createRequest(client.getId(), "Warehouse")
+        ));
+
+        // Act
+        ResultActions result = mockMvc.perform(post("/api/v1/trans_logs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.failed").value(2))
+                .andExpect(jsonPath("$.data.results[0].success").value(true))
+                .andExpect(jsonPath("$.data.results[1].message").value("Client not found !"))
+                .andExpect(jsonPath("$.data.results[2].success").value(false))
+                .andExpect(jsonPath("$.data.results[3].index").value(3));
+
+        assertThat(transportLogRepo.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs should report an estimated total until the last page makes it exact")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void getAll_ShouldUseCounterTotalWithoutCounting() throws Exception {
+        // Arrange: the counters are behind by one log, as after a write that bypassed the services
+        saveLog("Port");
+        entityCounters.reconcile();
+        saveLog("Warehouse");
+        saveLog("Depot");
+
+        // Act
+        ResultActions first = mockMvc.perform(get("/api/v1/trans_logs").param("page", "0").param("size", "1"));
+        ResultActions last = mockMvc.perform(get("/api/v1/trans_logs").param("page", "2").param("size", "1"));
+
+        // Assert: the estimate is raised to what the first page proves exists
+        first.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(2))
+                .andExpect(jsonPath("$.data.totalExact").value(false))
+                .andExpect(jsonPath("$.data.last").value(false));
+        last.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(3))
+                .andExpect(jsonPath("$.data.totalExact").value(true))
+                .andExpect(jsonPath("$.data.last").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs/{id} should serve repeat reads from the cache and reflect updates")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void getById_ShouldBeCachedAndRefreshedOnUpdate() throws Exception {
+        // Arrange
+        TransportLog log = saveLog("Port");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId())).andExpect(status().isOk());
+        statistics.clear();
+
+        // Act
+        ResultActions cached = mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId()));
+        long statementsForCachedRead = statistics.getPrepareStatementCount();
+        LocalDate loadDate = log.getLoadDate();
+        UpdateTransportLogRequest update = new UpdateTransportLogRequest(
+                log.getId(), client.getId(), driver.getId(),
+                loadDate, "Casablanca", loadDate.plusDays(1), "Tangier",
+                "Depot", null,
+                Money.ZERO, BigDecimal.TEN, Money.parse("1"), Money.ZERO, Money.ZERO,
+                Money.parse("1000"), Money.parse("800"),
+                "op", "com");
+        mockMvc.perform(put("/api/v1/trans_logs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        ResultActions afterUpdate = mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId()));
+
+        // Assert
+        cached.andExpect(status().isOk()).andExpect(jsonPath("$.data.destinationName").value("Port"));
+        assertThat(statementsForCachedRead).isZero();
+        afterUpdate.andExpect(status().isOk()).andExpect(jsonPath("$.data.destinationName").value("Depot"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs/{id} should answer a matching If-None-Match with 304 and PUT should honor If-Match")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void versionETag_ShouldDriveConditionalRequests() throws Exception {
+        // Arrange
+        TransportLog log = saveLog("Port");
+        String etag = mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        LocalDate loadDate = log.getLoadDate();
+        UpdateTransportLogRequest update = new UpdateTransportLogRequest(
+                log.getId(), client.getId(), driver.getId(),
+                loadDate, "Casablanca", loadDate.plusDays(1), "Tangier",
+                "Depot", null,
+                Money.ZERO, BigDecimal.TEN, Money.parse("1"), Money.ZERO, Money.ZERO,
+                Money.parse("1000"), Money.parse("800"),
+                "op", "com");
+
+        // Act
+        ResultActions notModified = mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        long entitiesLoadedFor304 = statistics.getEntityLoadCount();
+        ResultActions updated = mockMvc.perform(put("/api/v1/trans_logs")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)));
+        ResultActions stale = mockMvc.perform(put("/api/v1/trans_logs")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)));
+        ResultActions changed = mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // Assert
+        assertThat(etag).isEqualTo("\"0.0.0\"");
+        notModified.andExpect(status().isNotModified()).andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(entitiesLoadedFor304).isZero();
+        updated.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"1.0.0\""));
+        stale.andExpect(status().isPreconditionFailed());
+        changed.andExpect(status().isOk()).andExpect(jsonPath("$.data.version").value(1));
+    }
+
+    @Test
+    @DisplayName("should move the id sequence past existing logs before creating new ones")
+    void idSequence_ShouldSkipExistingIds() {
+        // Arrange: logs with identity ids up to 1000199 and a sequence still behind them, as on a
+        // database created before the sequence existed
+        jdbcTemplate.update("insert into transport_log (id, client_id, driver_id, load_date, version)"
+                + " select x, ?, ?, date '2024-01-10', 0 from system_range(1000000, 1000199)", client.getId(), driver.getId());
+        jdbcTemplate.execute("alter sequence transport_log_seq restart with 1000000");
+
+        // Act: more logs than one allocation, so ids are drawn from the sequence again
+        transportLogIdSequence.skipUsedIds();
+        List<TransportLog> created = transportLogRepo.saveAll(
+                IntStream.range(0, 2 * TransportLog.ID_ALLOCATION_SIZE).mapToObj(i -> newLog("Port")).toList());
+        transportLogRepo.flush();
+
+        // Assert: ids from an allocation made before the sequence moved may be lower, never in use
+        assertThat(created).extracting(TransportLog::getId)
+                .filteredOn(id -> id >= 1_000_000)
+                .isNotEmpty()
+                .allMatch(id -> id > 1_000_199);
+        assertThat(transportLogRepo.count()).isEqualTo(200 + 2 * TransportLog.ID_ALLOCATION_SIZE);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/trans_logs/{id} should reject an If-Match tag whose client version is stale")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void ifMatch_ShouldCompareEmbeddedVersions() throws Exception {
+        // Arrange: the client changes after the log was read, the log itself does not
+        TransportLog log = saveLog("Port");
+        String etag = mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        client.setName("Acme Logistics");
+        client = clientRepo.save(client);
+
+        // Act
+        ResultActions stale = mockMvc.perform(patch("/api/v1/trans_logs/{id}", log.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"destinationName\":\"Depot\"}"));
+        ResultActions anyVersion = mockMvc.perform(patch("/api/v1/trans_logs/{id}", log.getId())
+                .header(HttpHeaders.IF_MATCH, "\"9.9.9\", *")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"destinationName\":\"Depot\"}"));
+
+        // Assert
+        stale.andExpect(status().isPreconditionFailed());
+        anyVersion.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.destinationName").value("Depot"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.1.0\""));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/trans_logs/{id} should skip weak If-Match tags and match on the strong ones")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void ifMatch_ShouldSkipWeakTags() throws Exception {
+        // Arrange
+        TransportLog log = saveLog("Port");
+        String etag = mockMvc.perform(get("/api/v1/trans_logs/{id}", log.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        ResultActions onlyWeak = mockMvc.perform(patch("/api/v1/trans_logs/{id}", log.getId())
+                .header(HttpHeaders.IF_MATCH, "W/" + etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"destinationName\":\"Depot\"}"));
+        ResultActions mixed = mockMvc.perform(patch("/api/v1/trans_logs/{id}", log.getId())
+                .header(HttpHeaders.IF_MATCH, "W/\"x\", " + etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"destinationName\":\"Depot\"}"));
+
+        // Assert
+        onlyWeak.andExpect(status().isPreconditionFailed());
+        mixed.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.destinationName").value("Depot"));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/trans_logs/{id} should change only the given fields with one select and one update")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void patch_ShouldUpdateManagedEntityInTwoStatements() throws Exception {
+        // Arrange
+        TransportLog log = saveLog("Port");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ResultActions result = mockMvc.perform(patch("/api/v1/trans_logs/{id}", log.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"destinationName\":\"Depot\",\"tripPrice\":950}"));
+        long statements = statistics.getPrepareStatementCount();
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.destinationName").value("Depot"))
+                .andExpect(jsonPath("$.data.tripPrice").value(950))
+                .andExpect(jsonPath("$.data.loadLocation").value("Casablanca"))
+                .andExpect(jsonPath("$.data.client.name").value("Acme"))
+                .andExpect(jsonPath("$.data.version").value(1));
+        assertThat(statements).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/trans_logs/{id} should answer 404 for an unknown client and set one on a log without any")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void patch_ShouldCheckReferencedClient() throws Exception {
+        // Arrange
+        TransportLog withoutClient = newLog("Port");
+        withoutClient.setClient(null);
+        withoutClient = transportLogRepo.save(withoutClient);
+
+        // Act
+        ResultActions unknown = mockMvc.perform(patch("/api/v1/trans_logs/{id}", withoutClient.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientId\":" + Long.MAX_VALUE + "}"));
+        ResultActions assigned = mockMvc.perform(patch("/api/v1/trans_logs/{id}", withoutClient.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientId\":" + client.getId() + "}"));
+
+        // Assert
+        unknown.andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Client not found !"));
+        assigned.andExpect(status().isOk());
+        assertThat(transportLogRepo.findWithClientAndDriverById(withoutClient.getId()).orElseThrow().getClient().getId())
+                .isEqualTo(client.getId());
+    }
+
+    @Test
+    @DisplayName("bulk endpoints should update and delete the selected logs in one statement and report the counts")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void bulkEndpoints_ShouldReturnAffectedRowCounts() throws Exception {
+        // Arrange: the warehouse log is outside the criteria
+        TransportLog port = saveLog("Port");
+        TransportLog otherPort = saveLog("Port");
+        TransportLog warehouse = saveLog("Warehouse");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ResultActions updated = mockMvc.perform(patch("/api/v1/trans_logs/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"criteria\":{\"driverId\":" + driver.getId() + ",\"destinationName\":\"Port\"},\"fuelPricePerLiter\":12.5}"));
+        long updateStatements = statistics.getPrepareStatementCount();
+        ResultActions deleted = mockMvc.perform(post("/api/v1/trans_logs/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + otherPort.getId() + "," + warehouse.getId() + "]}"));
+        ResultActions unfiltered = mockMvc.perform(post("/api/v1/trans_logs/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"criteria\":{}}"));
+
+        // Assert
+        updated.andExpect(status().isOk()).andExpect(jsonPath("$.data.affected").value(2));
+        assertThat(updateStatements).isEqualTo(1);
+        deleted.andExpect(status().isOk()).andExpect(jsonPath("$.data.affected").value(2));
+        unfiltered.andExpect(status().isBadRequest());
+        TransportLog remaining = transportLogRepo.findById(port.getId()).orElseThrow();
+        assertThat(remaining.getFuelPricePerLiter()).isEqualTo(Money.parse("12.5"));
+        assertThat(remaining.getVersion()).isEqualTo(1L);
+        assertThat(transportLogRepo.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/trans_logs/{id} should read the text fields and delete in two statements and answer 404 for unknown ids")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void delete_ShouldIssueTwoStatementsAnd404WhenNothingDeleted() throws Exception {
+        // Arrange
+        TransportLog log = saveLog("Port");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ResultActions deleted = mockMvc.perform(delete("/api/v1/trans_logs/{id}", log.getId()));
+        long statements = statistics.getPrepareStatementCount();
+        ResultActions missing = mockMvc.perform(delete("/api/v1/trans_logs/{id}", log.getId()));
+
+        // Assert
+        deleted.andExpect(status().isOk());
+        assertThat(statements).isEqualTo(2);
+        missing.andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs/search/text should find logs written through the API, best match first")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void searchText_ShouldReturnRankedLogsAfterWrites() throws Exception {
+        // Arrange: both logs load in Casablanca, only the second one is headed to the port
+        mockMvc.perform(post("/api/v1/trans_logs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest(client.getId(), "Warehouse"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/trans_logs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest(client.getId(), "Casablanca Port"))))
+                .andExpect(status().isCreated());
+
+        // Act
+        ResultActions result = mockMvc.perform(get("/api/v1/trans_logs/search/text").param("q", "casablanca port"));
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(2))
+                .andExpect(jsonPath("$.data.data[0].destinationName").value("Casablanca Port"))
+                .andExpect(jsonPath("$.data.data[1].destinationName").value("Warehouse"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs/suggest should rank values by use and follow creates and updates")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void suggest_ShouldFollowWrites() throws Exception {
+        // Arrange: two logs are in the table when the suggestions are built, two more go through the API
+        saveLog("Casa Mall");
+        TransportLog moved = saveLog("Casa Mall");
+        locationSuggestions.rebuild();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/trans_logs")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createRequest(client.getId(), "Casablanca Port"))))
+                    .andExpect(status().isCreated());
+        }
+        mockMvc.perform(patch("/api/v1/trans_logs/{id}", moved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"destinationName\":\"Casablanca Port\"}"))
+                .andExpect(status().isOk());
+
+        // Act
+        ResultActions result = mockMvc.perform(get("/api/v1/trans_logs/suggest")
+                .param("field", "DESTINATION_NAME")
+                .param("prefix", "CASA"));
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].value").value("Casablanca Port"))
+                .andExpect(jsonPath("$.data[0].count").value(3))
+                .andExpect(jsonPath("$.data[1].value").value("Casa Mall"))
+                .andExpect(jsonPath("$.data[1].count").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs/suggest should stop suggesting values whose logs were deleted")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void suggest_ShouldForgetDeletedValues() throws Exception {
+        // Arrange
+        TransportLog typo = saveLog("Casa Mal");
+        saveLog("Casa Mall");
+        saveLog("Casa Mall");
+        saveLog("Rabat");
+        locationSuggestions.rebuild();
+
+        // Act: a single delete adjusts the counts at once, a bulk delete by criteria rebuilds them
+        mockMvc.perform(delete("/api/v1/trans_logs/{id}", typo.getId())).andExpect(status().isOk());
+        ResultActions afterDelete = mockMvc.perform(get("/api/v1/trans_logs/suggest")
+                .param("field", "DESTINATION_NAME")
+                .param("prefix", "casa"));
+        mockMvc.perform(post("/api/v1/trans_logs/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"criteria\":{\"destinationName\":\"Casa Mall\"}}"))
+                .andExpect(status().isOk());
+        String afterBulkDelete = null;
+        for (int attempt = 0; attempt < 100 && !"[]".equals(afterBulkDelete); attempt++) {
+            Thread.sleep(100);
+            afterBulkDelete = objectMapper.readTree(mockMvc.perform(get("/api/v1/trans_logs/suggest")
+                            .param("field", "DESTINATION_NAME")
+                            .param("prefix", "casa"))
+                    .andReturn().getResponse().getContentAsString()).get("data").toString();
+        }
+
+        // Assert
+        afterDelete.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].value").value("Casa Mall"))
+                .andExpect(jsonPath("$.data[0].count").value(2));
+        assertThat(afterBulkDelete).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs/export should stream one JSON object per line")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void exportNdjson_ShouldStreamAllLogs() throws Exception {
+        // Arrange
+        TransportLog first = saveLog("Port");
+        TransportLog second = saveLog("Warehouse");
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/v1/trans_logs/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(0)).get("id").asLong()).isEqualTo(first.getId());
+        assertThat(objectMapper.readTree(lines.get(1)).get("id").asLong()).isEqualTo(second.getId());
+        assertThat(objectMapper.readTree(lines.get(1)).get("destinationName").asText()).isEqualTo("Warehouse");
+        assertThat(objectMapper.readTree(lines.get(1)).get("client").get("name").asText()).isEqualTo("Acme");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/trans_logs/export/csv should stream the date range as gzipped CSV")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void exportCsv_ShouldStreamGzippedRowsInRange() throws Exception {
+        // Arrange: the note needs quoting, the second log is outside the range
+        TransportLog inRange = saveLog("Port");
+        inRange.setDeliveryNote("fragile, \"handle\" with care");
+        transportLogRepo.save(inRange);
+        TransportLog outOfRange = saveLog("Warehouse");
+        outOfRange.setLoadDate(LocalDate.of(2023, 6, 1));
+        transportLogRepo.save(outOfRange);
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/v1/trans_logs/export/csv")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("id,loadDate,loadLocation");
+        assertThat(lines.get(1))
+                .startsWith(inRange.getId() + ",2024-01-10,Casablanca")
+                .contains(",\"fragile, \"\"handle\"\" with care\",")
+                .contains(",Acme,ID-1,")
+                .endsWith(",op,com");
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/trans_logs/import should import valid CSV rows in the background and report progress")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void importCsv_ShouldImportValidRowsAndRejectInvalidOnes() throws Exception {
+        // Arrange: rows reference the client by identity id or by id; the last row has an unknown plate number
+        String csv = String.join("\r\n",
+                "clientIdentityId,clientId,driverPlateNumber,loadDate,loadLocation,unloadDate,unloadLocation,destinationName,deliveryNote,"
+                        + "advance,fuelQuantity,fuelPricePerLiter,variableCharge,chargePrice,clientTariff,tripPrice,operator,commercial",
+                "ID-1,,A12345,2024-01-10,Casablanca,2024-01-11,Tangier,Port,\"multi\nline, note\",0,10,1,0,0,1000,800,op,com",
+                "," + client.getId() + ",A12345,2024-01-12,Rabat,2024-01-13,Fes,Warehouse,,0,10,1,0,0,1000,800,op,com",
+                "ID-1,,UNKNOWN,2024-01-12,Rabat,2024-01-13,Fes,Warehouse,,0,10,1,0,0,1000,800,op,com");
+        MockMultipartFile file = new MockMultipartFile("file", "history.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        String jobId = objectMapper.readTree(mockMvc.perform(multipart("/api/v1/trans_logs/import").file(file))
+                        .andExpect(status().isAccepted())
+                        .andReturn().getResponse().getContentAsString())
+                .get("data").get("jobId").asText();
+
+        String state = "QUEUED";
+        ResultActions status = null;
+        for (int attempt = 0; attempt < 100 && (state.equals("QUEUED") || state.equals("RUNNING")); attempt++) {
+            Thread.sleep(100);
+            status = mockMvc.perform(get("/api/v1/trans_logs/import/{jobId}", jobId));
+            state = objectMapper.readTree(status.andReturn().getResponse().getContentAsString())
+                    .get("data").get("state").asText();
+        }
+
+        // Assert
+        assertThat(state).isEqualTo("COMPLETED");
+        status.andExpect(jsonPath("$.data.rowsRead").value(3))
+                .andExpect(jsonPath("$.data.rowsImported").value(2))
+                .andExpect(jsonPath("$.data.rowsRejected").value(1))
+                .andExpect(jsonPath("$.data.errors[0]").value("row 4: Driver not found !"));
+        assertThat(transportLogRepo.findAll())
+                .extracting(TransportLog::getDeliveryNote)
+                .containsExactlyInAnyOrder("multi\nline, note", null);
+    }
+
+    private TransportLog saveLog(String destinationName) {
+        return transportLogRepo.save(newLog(destinationName));
+    }
+
+    private TransportLog newLog(String destinationName) {
+        LocalDate loadDate = LocalDate.of(2024, 1, 10);
+        return TransportLog.builder()
+                .client(client).driver(driver)
+                .loadDate(loadDate).loadLocation("Casablanca")
+                .unloadDate(loadDate.plusDays(1)).unloadLocation("Tangier")
+                .destinationName(destinationName)
+                .advance(Money.ZERO).fuelQuantity(BigDecimal.TEN).fuelPricePerLiter(Money.parse("1"))
+                .variableCharge(Money.ZERO).chargePrice(Money.ZERO)
+                .clientTariff(Money.parse("1000")).tripPrice(Money.parse("800"))
+                .operator("op").commercial("com")
+                .build();
+    }
+
+    private CreateTransportLogRequest createRequest(Long clientId, String destinationName) {
+        LocalDate loadDate = LocalDate.of(2024, 1, 10);
+        return new CreateTransportLogRequest(
+                clientId, driver.getId(),
+                loadDate, "Casablanca", loadDate.plusDays(1), "Tangier",
+                destinationName, null,
+                Money.ZERO, BigDecimal.TEN, Money.parse("1"), Money.ZERO, Money.ZERO,
+                Money.parse("1000"), Money.parse("800"),
+                "op", "com");
+    }
+}
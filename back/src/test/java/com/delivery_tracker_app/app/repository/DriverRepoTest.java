@@ -1,13 +1,20 @@
 package com.delivery_tracker_app.app.repository;
 
 
+import com.delivery_tracker_app.app.config.SecondLevelCacheConfig;
 import com.delivery_tracker_app.app.entity.Driver;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
@@ -22,6 +29,7 @@ import java.util.Optional;
  * It uses TestEntityManager to interact with the database, which is a
  * convenient way to set up and tear down test data.
  */
+@Import(SecondLevelCacheConfig.class)
 @DataJpaTest
 @ActiveProfiles("test") // Use a dedicated test profile if needed
 class DriverRepoTest {
@@ -35,6 +43,9 @@ class DriverRepoTest {
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @DisplayName("should save a driver and retrieve it by ID")
     void saveAndFindById_ShouldReturnSavedDriver() {
@@ -104,5 +115,28 @@ class DriverRepoTest {
         // Assert
         assertThat(foundDriver).isNotPresent();
     }
-}
 
+    @Test
+    @DisplayName("should serve a driver from the second-level cache once it has been loaded")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // cached entries are only visible to later sessions
+    void findById_ShouldHitSecondLevelCache() {
+        // Arrange: every repository call below runs in its own session
+        Driver driver = driverRepo.save(Driver.builder().name("John Doe").plateNumber("A12345").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Optional<Driver> found = driverRepo.findById(driver.getId());
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        Optional<Driver> foundAgain = driverRepo.findById(driver.getId());
+        long statementsAfterSecondRead = statistics.getPrepareStatementCount();
+        long hits = statistics.getDomainDataRegionStatistics("driver").getHitCount();
+        driverRepo.deleteById(driver.getId());
+
+        // Assert: the second read is served from the "driver" region without touching the database
+        assertThat(found).isPresent();
+        assertThat(foundAgain).isPresent();
+        assertThat(statementsAfterSecondRead).isEqualTo(statementsAfterFirstRead);
+        assertThat(hits).isPositive();
+    }
+}
@@ -0,0 +1,339 @@
+package com.delivery_tracker_app.app.repository;
+
+import com.delivery_tracker_app.app.config.SecondLevelCacheConfig;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogResponse;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogRow;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogSearchCriteria;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogVersions;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.mapper.ClientMapper;
+import com.delivery_tracker_app.app.mapper.DriverMapper;
+import com.delivery_tracker_app.app.mapper.TransportLogMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for the TransportLogRepo interface.
+ * Runs against the embedded H2 database configured by @DataJpaTest.
+ */
+@Import(SecondLevelCacheConfig.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.delivery_tracker_app.app.repository.TransportLogRepoTest$SqlCapture"
+})
+@ActiveProfiles("test")
+class TransportLogRepoTest {
+
+    @Autowired
+    private TransportLogRepo transportLogRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final TransportLogMapper transportLogMapper = new TransportLogMapper(new ClientMapper(), new DriverMapper());
+
+    private Client client;
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() {
+        client = entityManager.persist(Client.builder().name("Acme").identityId("ID-1").build());
+        driver = entityManager.persist(Driver.builder().name("John Doe").plateNumber("A12345").build());
+    }
+
+    @Test
+    @DisplayName("should walk all logs with keyset pages ordered by load date then id, newest first")
+    void keysetPages_ShouldCoverAllRowsInOrder() {
+        // Arrange: two logs share a load date so the id tie-breaker is exercised
+        TransportLog oldest = persistLog(LocalDate.of(2024, 1, 1));
+        TransportLog sameDayA = persistLog(LocalDate.of(2024, 2, 1));
+        TransportLog sameDayB = persistLog(LocalDate.of(2024, 2, 1));
+        TransportLog newest = persistLog(LocalDate.of(2024, 3, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<TransportLog> first = transportLogRepo.findFirstKeysetPage(Limit.of(2));
+        TransportLog tail = first.get(first.size() - 1);
+        List<TransportLog> second = transportLogRepo.findKeysetPageAfter(tail.getLoadDate(), tail.getId(), Limit.of(2));
+        TransportLog secondTail = second.get(second.size() - 1);
+        List<TransportLog> third = transportLogRepo.findKeysetPageAfter(secondTail.getLoadDate(), secondTail.getId(), Limit.of(2));
+
+        // Assert
+        assertThat(first).extracting(TransportLog::getId).containsExactly(newest.getId(), sameDayB.getId());
+        assertThat(second).extracting(TransportLog::getId).containsExactly(sameDayA.getId(), oldest.getId());
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should read a page of rows with their client and driver in a single statement")
+    void findRowSlice_ShouldNotIssueExtraSelectsPerRow() {
+        // Arrange: every log gets its own client and driver so lazy loading would cost one select each
+        for (int i = 0; i < 6; i++) {
+            client = entityManager.persist(Client.builder().name("Client " + i).identityId("C" + i).build());
+            driver = entityManager.persist(Driver.builder().name("Driver " + i).plateNumber("P" + i).build());
+            persistLog(LocalDate.of(2024, 1, 1).plusDays(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act: the query behind getAll, mapped to DTOs as the service does
+        Slice<TransportLogRow> page = transportLogRepo.findRowSlice(PageRequest.of(0, 4));
+        List<TransportLogResponse> responses = page.getContent().stream().map(transportLogMapper::toDto).toList();
+
+        // Assert
+        assertThat(responses).hasSize(4).allSatisfy(response -> assertThat(response.client().name()).startsWith("Client"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should list, page and export logs that have no client or driver")
+    void reads_ShouldKeepLogsWithoutClientOrDriver() {
+        // Arrange
+        TransportLog withBoth = persistLog(LocalDate.of(2024, 1, 1));
+        client = null;
+        TransportLog withoutClient = persistLog(LocalDate.of(2024, 1, 2));
+        driver = null;
+        TransportLog withoutEither = persistLog(LocalDate.of(2024, 1, 3));
+        entityManager.flush();
+        entityManager.clear();
+        Long[] ids = {withBoth.getId(), withoutClient.getId(), withoutEither.getId()};
+
+        // Act
+        List<TransportLogRow> rows = transportLogRepo.findRowSlice(PageRequest.of(0, 10, Sort.by("id"))).getContent();
+        List<TransportLog> keysetPage = transportLogRepo.findFirstKeysetPage(Limit.of(10));
+        List<TransportLog> exported;
+        try (Stream<TransportLog> stream = transportLogRepo.streamAll()) {
+            exported = stream.toList();
+        }
+        List<TransportLog> exportedRange;
+        try (Stream<TransportLog> stream = transportLogRepo.streamByLoadDateBetween(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))) {
+            exportedRange = stream.toList();
+        }
+        TransportLogVersions versions = transportLogRepo.findVersionsById(withoutEither.getId()).orElseThrow();
+
+        // Assert
+        assertThat(rows).extracting(TransportLogRow::id).containsExactly(ids);
+        assertThat(transportLogMapper.toDto(rows.get(1)).client()).isNull();
+        assertThat(transportLogMapper.toDto(rows.get(1)).driver()).isNotNull();
+        assertThat(keysetPage).extracting(TransportLog::getId).containsExactlyInAnyOrder(ids);
+        assertThat(exported).extracting(TransportLog::getId).containsExactly(ids);
+        assertThat(exportedRange).extracting(TransportLog::getId).containsExactly(ids);
+        assertThat(versions.clientVersion()).isNull();
+        assertThat(versions.driverVersion()).isNull();
+    }
+
+    @Test
+    @DisplayName("should load a single log with its client and driver in one statement")
+    void findWithClientAndDriverById_ShouldUseSingleStatement() {
+        // Arrange
+        TransportLog log = persistLog(LocalDate.of(2024, 1, 1));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        TransportLog found = transportLogRepo.findWithClientAndDriverById(log.getId()).orElseThrow();
+        transportLogMapper.toDto(found);
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should project a log and its client and driver into a flat row without managing entities")
+    void findRowById_ShouldReturnProjectionOnly() {
+        // Arrange
+        TransportLog log = persistLog(LocalDate.of(2024, 1, 1));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        TransportLogRow row = transportLogRepo.findRowById(log.getId()).orElseThrow();
+
+        // Assert
+        assertThat(row.clientName()).isEqualTo("Acme");
+        assertThat(row.driverPlateNumber()).isEqualTo("A12345");
+        assertThat(row.tripPrice()).isEqualTo(Money.parse("800"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should read a slice of rows in one statement, without a count query")
+    void findRowSlice_ShouldNotCount() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            persistLog(LocalDate.of(2024, 1, 1).plusDays(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Slice<TransportLogRow> first = transportLogRepo.findRowSlice(PageRequest.of(0, 2));
+        long firstStatements = statistics.getPrepareStatementCount();
+        Slice<TransportLogRow> second = transportLogRepo.findRowSlice(PageRequest.of(1, 2));
+
+        // Assert
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(firstStatements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should return only logs matching every search criterion")
+    void findAllWithSpecification_ShouldApplyAllFilters() {
+        // Arrange
+        TransportLog january = persistLog(LocalDate.of(2024, 1, 10));
+        persistLog(LocalDate.of(2024, 2, 10));
+        Client otherClient = entityManager.persist(Client.builder().name("Other").identityId("ID-2").build());
+        client = otherClient;
+        persistLog(LocalDate.of(2024, 1, 12));
+        entityManager.flush();
+        entityManager.clear();
+        TransportLogSearchCriteria criteria = new TransportLogSearchCriteria(
+                january.getClient().getId(), null,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                null, null, "Port", "op", null);
+
+        // Act
+        Page<TransportLog> page = transportLogRepo.findAll(
+                TransportLogSpecifications.matching(criteria), PageRequest.of(0, 10, Sort.by("id")));
+
+        // Assert
+        assertThat(page.getContent()).extracting(TransportLog::getId).containsExactly(january.getId());
+    }
+
+    @ParameterizedTest(name = "{0} should use {3}")
+    @MethodSource("searchFilters")
+    @DisplayName("every supported search filter should be served by an index")
+    void searchFilters_ShouldBeIndexBacked(String filter, TransportLogSearchCriteria criteria,
+                                           List<Object> values, String expectedIndex) {
+        // Arrange: the page query search runs, as generated from the specification
+        SqlCapture.STATEMENTS.clear();
+        transportLogRepo.findAll(TransportLogSpecifications.matching(criteria),
+                PageRequest.of(0, 20, Sort.by(Sort.Order.desc("loadDate"), Sort.Order.desc("id"))));
+        String sql = SqlCapture.STATEMENTS.get(0);
+        Query explain = entityManager.getEntityManager().createNativeQuery("EXPLAIN " + sql);
+        for (int i = 0; i < values.size(); i++) {
+            explain.setParameter(i + 1, values.get(i));
+        }
+        // Offset and page size are bound after the filter values
+        explain.setParameter(values.size() + 1, 0);
+        explain.setParameter(values.size() + 2, 20);
+
+        // Act: ask the H2 planner how it would run that statement
+        String plan = String.valueOf(explain.getSingleResult());
+
+        // Assert
+        assertThat(sql).contains("from transport_log");
+        assertThat(plan).contains(expectedIndex);
+    }
+
+    static Stream<Arguments> searchFilters() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        return Stream.of(
+                Arguments.of("client and load date", criteria(1L, null, from, null, null, null, null, null),
+                        List.of(1L, from), "IDX_TRANSPORT_LOG_CLIENT_LOAD_DATE"),
+                Arguments.of("driver and load date", criteria(null, 1L, null, to, null, null, null, null),
+                        List.of(1L, to), "IDX_TRANSPORT_LOG_DRIVER_LOAD_DATE"),
+                Arguments.of("load date range", criteria(null, null, from, to, null, null, null, null),
+                        List.of(from, to), "IDX_TRANSPORT_LOG_LOAD_DATE_ID"),
+                Arguments.of("unload date", criteria(null, null, null, null, from, null, null, null),
+                        List.of(from), "IDX_TRANSPORT_LOG_UNLOAD_DATE"),
+                Arguments.of("destination name", criteria(null, null, null, null, null, "Port", null, null),
+                        List.of("Port"), "IDX_TRANSPORT_LOG_DESTINATION_NAME"),
+                Arguments.of("operator", criteria(null, null, null, null, null, null, "op", null),
+                        List.of("op"), "IDX_TRANSPORT_LOG_OPERATOR"),
+                Arguments.of("commercial", criteria(null, null, null, null, null, null, null, "com"),
+                        List.of("com"), "IDX_TRANSPORT_LOG_COMMERCIAL")
+        );
+    }
+
+    private static TransportLogSearchCriteria criteria(Long clientId, Long driverId, LocalDate loadDateFrom,
+                                                       LocalDate loadDateTo, LocalDate unloadDateFrom,
+                                                       String destinationName, String operator, String commercial) {
+        return new TransportLogSearchCriteria(clientId, driverId, loadDateFrom, loadDateTo,
+                unloadDateFrom, null, destinationName, operator, commercial);
+    }
+
+    private TransportLog persistLog(LocalDate loadDate) {
+        return entityManager.persist(TransportLog.builder()
+                .client(client)
+                .driver(driver)
+                .loadDate(loadDate)
+                .loadLocation("Casablanca")
+                .unloadDate(loadDate.plusDays(1))
+                .unloadLocation("Tangier")
+                .destinationName("Port")
+                .advance(Money.ZERO)
+                .fuelQuantity(BigDecimal.TEN)
+                .fuelPricePerLiter(Money.parse("1"))
+                .variableCharge(Money.ZERO)
+                .chargePrice(Money.ZERO)
+                .clientTariff(Money.parse("1000"))
+                .tripPrice(Money.parse("800"))
+                .operator("op")
+                .commercial("com")
+                .build());
+    }
+
+    /**
+     * Records the SQL Hibernate sends for this test context, so plans are checked on the generated statements.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.delivery_tracker_app.app.repository;
+
+import com.delivery_tracker_app.app.config.SecondLevelCacheConfig;
+import com.delivery_tracker_app.app.dto.v1.report.ClientMonthlyStatement;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Repository tests for the TransportLogReportRepo interface.
+ * Runs against the embedded H2 database configured by @DataJpaTest.
+ */
+@Import(SecondLevelCacheConfig.class)
+@DataJpaTest
+@ActiveProfiles("test")
+class TransportLogReportRepoTest {
+
+    @Autowired
+    private TransportLogReportRepo transportLogReportRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Client acme;
+    private Client other;
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() {
+        acme = entityManager.persist(Client.builder().name("Acme").identityId("ID-1").build());
+        other = entityManager.persist(Client.builder().name("Other").identityId("ID-2").build());
+        driver = entityManager.persist(Driver.builder().name("John Doe").plateNumber("A12345").build());
+        persistLog(acme, LocalDate.of(2024, 1, 10), "1000", "800");
+        persistLog(acme, LocalDate.of(2024, 1, 31), "500", "300");
+        persistLog(acme, LocalDate.of(2024, 2, 1), "700", "600");
+        persistLog(other, LocalDate.of(2024, 1, 15), "400", "350");
+        persistLog(acme, LocalDate.of(2024, 3, 1), "999", "1");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should sum every client's logs per load month within the range")
+    void aggregateByClientAndMonth_ShouldGroupPerClientAndMonth() {
+        // Act
+        List<ClientMonthlyStatement> statements = transportLogReportRepo.aggregateByClientAndMonth(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1));
+
+        // Assert: the March log falls on the exclusive upper bound
+        assertThat(statements).extracting(ClientMonthlyStatement::clientName, ClientMonthlyStatement::month)
+                .containsExactly(
+                        tuple("Acme", 1),
+                        tuple("Acme", 2),
+                        tuple("Other", 1));
+
+        ClientMonthlyStatement acmeJanuary = statements.get(0);
+        assertThat(acmeJanuary.year()).isEqualTo(2024);
+        assertThat(acmeJanuary.trips()).isEqualTo(2);
+        assertThat(acmeJanuary.fuelCost()).isEqualByComparingTo("40");
+        assertThat(acmeJanuary.revenue()).isEqualByComparingTo("1500");
+        // 1100 trip price + 40 fuel + 10 variable charge + 6 charge price
+        assertThat(acmeJanuary.cost()).isEqualByComparingTo("1156");
+        assertThat(acmeJanuary.margin()).isEqualByComparingTo("344");
+    }
+
+    @Test
+    @DisplayName("should restrict the aggregate to a single client")
+    void aggregateByClientAndMonthForClient_ShouldIgnoreOtherClients() {
+        // Act
+        List<ClientMonthlyStatement> statements = transportLogReportRepo.aggregateByClientAndMonthForClient(
+                other.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1));
+
+        // Assert
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).clientId()).isEqualTo(other.getId());
+        assertThat(statements.get(0).margin()).isEqualByComparingTo("22");
+    }
+
+    private void persistLog(Client client, LocalDate loadDate, String clientTariff, String tripPrice) {
+        entityManager.persist(TransportLog.builder()
+                .client(client)
+                .driver(driver)
+                .loadDate(loadDate)
+                .loadLocation("Casablanca")
+                .unloadDate(loadDate.plusDays(1))
+                .unloadLocation("Tangier")
+                .destinationName("Port")
+                .advance(Money.ZERO)
+                .fuelQuantity(BigDecimal.TEN)
+                .fuelPricePerLiter(Money.parse("2"))
+                .variableCharge(Money.parse("5"))
+                .chargePrice(Money.parse("3"))
+                .clientTariff(Money.parse(clientTariff))
+                .tripPrice(Money.parse(tripPrice))
+                .operator("op")
+                .commercial("com")
+                .build());
+    }
+}
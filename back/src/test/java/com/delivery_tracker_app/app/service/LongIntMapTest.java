@@ -0,0 +1,46 @@
+package com.delivery_tracker_app.app.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the primitive hash map behind the analytics row and group lookups.
+ */
+class LongIntMapTest {
+
+    @Test
+    @DisplayName("should agree with a HashMap through random puts and removes")
+    void operations_ShouldMatchHashMap() {
+        // Arrange
+        Random random = new Random(7);
+        LongIntMap map = new LongIntMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range so removals hit long probe runs
+            long key = random.nextInt(5_000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed != null ? removed : -1);
+            } else {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+
+        // Assert
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 5_000 * 1024L; key += 1024) {
+            Integer value = expected.get(key);
+            assertThat(map.get(key)).isEqualTo(value != null ? value : -1);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.delivery_tracker_app.app.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the reload and replay logic shared by the in-memory views of transport_log.
+ */
+class ReloadableViewTest {
+
+    @Test
+    @DisplayName("should replay writes made while a reload reads the table onto the new view")
+    void reload_ShouldReplayConcurrentWrites() {
+        // Arrange
+        ReloadableView<List<String>> view = new ReloadableView<>(new ArrayList<>(List.of("old")));
+
+        // Act: the loader stands in for the table read, during which a write commits
+        List<String> loaded = view.reload(previous -> {
+            view.write(target -> target.add("written"));
+            return new ArrayList<>(List.of("reloaded"));
+        });
+
+        // Assert
+        assertThat(loaded).containsExactly("reloaded", "written");
+        assertThat(view.<List<String>>read(List::copyOf)).containsExactly("reloaded", "written");
+    }
+
+    @Test
+    @DisplayName("should skip a reload requested while another one is running")
+    void reload_ShouldRunOneAtATime() {
+        // Arrange
+        ReloadableView<List<String>> view = new ReloadableView<>(new ArrayList<>());
+        List<List<String>> nested = new ArrayList<>();
+
+        // Act
+        view.reload(previous -> {
+            nested.add(view.reload(inner -> new ArrayList<>(List.of("nested"))));
+            return new ArrayList<>(List.of("outer"));
+        });
+
+        // Assert
+        assertThat(nested).containsOnlyNulls();
+        assertThat(view.<List<String>>read(List::copyOf)).containsExactly("outer");
+    }
+
+    @Test
+    @DisplayName("should keep serving the old view, with its writes, when a reload fails")
+    void reload_ShouldKeepOldViewOnFailure() {
+        // Arrange
+        ReloadableView<List<String>> view = new ReloadableView<>(new ArrayList<>(List.of("old")));
+
+        // Act
+        assertThatThrownBy(() -> view.reload(previous -> {
+            view.write(target -> target.add("written"));
+            throw new IllegalStateException("table unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        view.write(target -> target.add("after"));
+
+        // Assert: the failed reload's pending writes are not replayed a second time
+        assertThat(view.<List<String>>read(List::copyOf)).containsExactly("old", "written", "after");
+        assertThat(view.reload(previous -> new ArrayList<>(List.of("reloaded")))).containsExactly("reloaded");
+    }
+}
@@ -0,0 +1,70 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.LocationSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the sorted-array prefix index behind location autocomplete.
+ */
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = SuggestionIndex.of(Map.of(
+                "Tanger Med", 5,
+                "Tanger Ville", 2,
+                "Taza", 3,
+                "Casablanca", 9,
+                "Fès", 4,
+                "fes", 1
+        ));
+    }
+
+    @Test
+    @DisplayName("should return values starting with the prefix, most used first, ignoring case and accents")
+    void suggest_ShouldRankByCountIgnoringCaseAndAccents() {
+        // Act & Assert
+        assertThat(index.suggest("ta", 10)).containsExactly(
+                new LocationSuggestion("Tanger Med", 5),
+                new LocationSuggestion("Taza", 3),
+                new LocationSuggestion("Tanger Ville", 2));
+        assertThat(index.suggest("TAN", 1)).containsExactly(new LocationSuggestion("Tanger Med", 5));
+        // Spellings folding to the same key are merged under the most used one
+        assertThat(index.suggest("fé", 10)).containsExactly(new LocationSuggestion("Fès", 5));
+        assertThat(index.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should adjust counts in place and serve new values before and after they are merged")
+    void add_ShouldUpdateCountsAndMergeNewValues() {
+        // Act
+        index.add("Taza", 3);
+        index.add("Tanger Med", -5);
+        index.add("Tetouan", 4);
+
+        // Assert
+        assertThat(index.suggest("t", 10)).containsExactly(
+                new LocationSuggestion("Taza", 6),
+                new LocationSuggestion("Tetouan", 4),
+                new LocationSuggestion("Tanger Ville", 2));
+
+        // Act: enough new values to force the overlay into the arrays
+        for (int i = 0; i < SuggestionIndex.MERGE_THRESHOLD; i++) {
+            index.add("Zone " + i, 1);
+        }
+        index.add("Tetouan", 1);
+
+        // Assert
+        assertThat(index.size()).isEqualTo(5 + 1 + SuggestionIndex.MERGE_THRESHOLD);
+        assertThat(index.suggest("te", 10)).containsExactly(new LocationSuggestion("Tetouan", 5));
+        assertThat(index.suggest("zone 100", 20)).hasSize(1 + 10);
+    }
+}
@@ -0,0 +1,143 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.config.ArchiveProperties;
+import com.delivery_tracker_app.app.entity.Client;
+import com.delivery_tracker_app.app.entity.Driver;
+import com.delivery_tracker_app.app.entity.Money;
+import com.delivery_tracker_app.app.entity.TransportLog;
+import com.delivery_tracker_app.app.repository.ClientRepo;
+import com.delivery_tracker_app.app.repository.DriverRepo;
+import com.delivery_tracker_app.app.repository.TransportLogRepo;
+import com.delivery_tracker_app.app.service.EntityCounters.CountedTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the batch mover against the embedded H2 database; the SQL it issues is plain enough
+ * to run unchanged on H2 and PostgreSQL.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "app.jwt.secret=test-secret-key-that-is-long-enough",
+        "app.user.username=testuser",
+        "app.user.password=testpass",
+        "app.user.roles=ADMIN"
+})
+class TransportLogArchiverTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private TransportLogArchiver transportLogArchiver;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    @Autowired
+    private EntityCounters entityCounters;
+
+    @Autowired
+    private TransportLogRepo transportLogRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Autowired
+    private DriverRepo driverRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Client client;
+    private Driver driver;
+    private final List<Long> oldIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        client = clientRepo.save(Client.builder().name("Acme").identityId("ID-1").build());
+        driver = driverRepo.save(Driver.builder().name("John Doe").plateNumber("A12345").build());
+        oldIds.clear();
+        for (int day = 1; day <= 5; day++) {
+            oldIds.add(saveLog(LocalDate.of(2023, 12, day)).getId());
+        }
+        saveLog(CUTOFF);
+        saveLog(LocalDate.of(2024, 6, 1));
+        archiveProperties.setBatchSize(2);
+        entityCounters.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        archiveProperties.setBatchSize(new ArchiveProperties().getBatchSize());
+        archiveProperties.setMaxBatchesPerRun(new ArchiveProperties().getMaxBatchesPerRun());
+        jdbcTemplate.update("delete from transport_log_archive");
+        transportLogRepo.deleteAllInBatch();
+        clientRepo.deleteAllInBatch();
+        driverRepo.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("should move every log loaded before the cutoff, in batches, and keep their values")
+    void archiveBefore_ShouldMoveOldLogsInBatches() {
+        // Act
+        int moved = transportLogArchiver.archiveBefore(CUTOFF);
+
+        // Assert: five rows in batches of two, the log loaded on the cutoff day stays
+        assertThat(moved).isEqualTo(5);
+        assertThat(transportLogRepo.findAll()).extracting(TransportLog::getLoadDate)
+                .containsExactlyInAnyOrder(CUTOFF, LocalDate.of(2024, 6, 1));
+        assertThat(jdbcTemplate.queryForList("select id from transport_log_archive order by id", Long.class))
+                .containsExactlyElementsOf(oldIds);
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(*) from transport_log_archive
+                where client_id = ? and driver_id = ? and destination_name = 'Port'
+                  and trip_price = 800 and version = 0 and archived_at is not null
+                """, Long.class, client.getId(), driver.getId())).isEqualTo(5);
+        assertThat(entityCounters.get(CountedTable.TRANSPORT_LOG)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should stop after the configured number of batches and resume with the oldest logs")
+    void archiveBefore_ShouldBoundBatchesPerRun() {
+        // Arrange
+        archiveProperties.setMaxBatchesPerRun(1);
+
+        // Act
+        int first = transportLogArchiver.archiveBefore(CUTOFF);
+        int second = transportLogArchiver.archiveBefore(CUTOFF);
+
+        // Assert
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("select id from transport_log_archive order by load_date, id", Long.class))
+                .containsExactlyElementsOf(oldIds.subList(0, 4));
+        assertThat(transportLogRepo.count()).isEqualTo(3);
+    }
+
+    private TransportLog saveLog(LocalDate loadDate) {
+        return transportLogRepo.save(TransportLog.builder()
+                .client(client).driver(driver)
+                .loadDate(loadDate).loadLocation("Casablanca")
+                .unloadDate(loadDate.plusDays(1)).unloadLocation("Tangier")
+                .destinationName("Port")
+                .advance(Money.ZERO).fuelQuantity(BigDecimal.TEN).fuelPricePerLiter(Money.parse("1"))
+                .variableCharge(Money.ZERO).chargePrice(Money.ZERO)
+                .clientTariff(Money.parse("1000")).tripPrice(Money.parse("800"))
+                .operator("op").commercial("com")
+                .build());
+    }
+}
@@ -0,0 +1,201 @@
+package com.delivery_tracker_app.app.service;
+
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsDimension;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsGroup;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsMeasure;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsQuery;
+import com.delivery_tracker_app.app.dto.v1.analytics.TransportLogFacts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the columnar store behind the analytics endpoint.
+ */
+class TransportLogColumnsTest {
+
+    private static final AnalyticsQuery NO_FILTER = new AnalyticsQuery(null, null, null, null, null, null, null, null);
+    private static final List<AnalyticsMeasure> TARIFF_AND_FUEL = List.of(AnalyticsMeasure.CLIENT_TARIFF, AnalyticsMeasure.FUEL_COST);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private TransportLogColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new TransportLogColumns(0);
+        columns.upsert(facts(1, 10L, LocalDate.of(2025, 1, 5), "Ops A", 100_000));
+        columns.upsert(facts(2, 10L, LocalDate.of(2025, 1, 20), "Ops B", 50_050));
+        columns.upsert(facts(3, 20L, LocalDate.of(2025, 2, 1), "Ops A", 70_000));
+        columns.upsert(facts(4, 20L, LocalDate.of(2025, 2, 3), null, 10_000));
+    }
+
+    @Test
+    @DisplayName("should sum per group in key order, with fuel cost as quantity times price")
+    void aggregate_ShouldGroupAndSum() {
+        // Act
+        List<AnalyticsGroup> byClientAndMonth = columns.aggregate(NO_FILTER,
+                List.of(AnalyticsDimension.CLIENT, AnalyticsDimension.MONTH), TARIFF_AND_FUEL, 100, pool);
+        List<AnalyticsGroup> byOperator = columns.aggregate(
+                new AnalyticsQuery(null, null, null, null, LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 1), null, null),
+                List.of(AnalyticsDimension.OPERATOR), List.of(AnalyticsMeasure.CLIENT_TARIFF), 100, pool);
+
+        // Assert
+        assertThat(byClientAndMonth).extracting(AnalyticsGroup::key).containsExactly(
+                Map.of(AnalyticsDimension.CLIENT, 10L, AnalyticsDimension.MONTH, YearMonth.of(2025, 1)),
+                Map.of(AnalyticsDimension.CLIENT, 20L, AnalyticsDimension.MONTH, YearMonth.of(2025, 2)));
+        assertThat(byClientAndMonth.get(0).trips()).isEqualTo(2);
+        assertThat(byClientAndMonth.get(0).sums().get(AnalyticsMeasure.CLIENT_TARIFF)).isEqualByComparingTo("1500.50");
+        assertThat(byClientAndMonth.get(0).sums().get(AnalyticsMeasure.FUEL_COST)).isEqualByComparingTo("250");
+        // Load dates from 2025-01-20 to 2025-02-01 inclusive
+        assertThat(byOperator).extracting(group -> group.key().get(AnalyticsDimension.OPERATOR)).containsExactly("Ops A", "Ops B");
+        assertThat(byOperator).extracting(group -> group.sums().get(AnalyticsMeasure.CLIENT_TARIFF))
+                .containsExactly(new BigDecimal("700.00"), new BigDecimal("500.50"));
+    }
+
+    @Test
+    @DisplayName("should apply updates and removals, ignoring stale versions and unknown filter values")
+    void writes_ShouldBeReflectedInAggregates() {
+        // Act
+        columns.upsert(facts(3, 2, 20L, LocalDate.of(2025, 2, 1), "Ops B", 80_000));
+        columns.upsert(facts(3, 1, 20L, LocalDate.of(2025, 2, 1), "Ops A", 1));
+        columns.remove(1);
+        columns.remove(99);
+        List<AnalyticsGroup> total = columns.aggregate(NO_FILTER, List.of(), List.of(AnalyticsMeasure.CLIENT_TARIFF), 100, pool);
+        List<AnalyticsGroup> opsA = columns.aggregate(
+                new AnalyticsQuery(null, null, null, null, null, null, "Ops A", null),
+                List.of(), List.of(AnalyticsMeasure.CLIENT_TARIFF), 100, pool);
+        List<AnalyticsGroup> unknownClient = columns.aggregate(
+                new AnalyticsQuery(null, null, 404L, null, null, null, null, null),
+                List.of(), List.of(AnalyticsMeasure.CLIENT_TARIFF), 100, pool);
+
+        // Assert
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(total).singleElement().satisfies(group -> {
+            assertThat(group.trips()).isEqualTo(3);
+            assertThat(group.sums().get(AnalyticsMeasure.CLIENT_TARIFF)).isEqualByComparingTo("1400.50");
+        });
+        assertThat(opsA).isEmpty();
+        assertThat(unknownClient).isEmpty();
+        assertThatThrownBy(() -> columns.aggregate(NO_FILTER, List.of(AnalyticsDimension.CLIENT, AnalyticsDimension.OPERATOR),
+                TARIFF_AND_FUEL, 1, pool)).hasMessageContaining("More than 1 groups");
+    }
+
+    @Test
+    @DisplayName("should give the same totals when the scan is split across many tasks")
+    void aggregate_ShouldMergeParallelRanges() {
+        // Arrange
+        TransportLogColumns many = new TransportLogColumns(0);
+        Set<List<Object>> expectedGroups = new HashSet<>();
+        int rows = TransportLogColumns.SPLIT_ROWS * 5 + 123;
+        for (int i = 0; i < rows; i++) {
+            LocalDate loadDate = LocalDate.of(2024, 1, 1).plusDays(i % 400);
+            many.upsert(facts(i, (long) (i % 700), loadDate, "Ops " + (i % 3), 100));
+            expectedGroups.add(List.of((long) (i % 700), YearMonth.from(loadDate), "Ops " + (i % 3)));
+        }
+
+        // Act
+        // 700 clients by 14 months by 3 operators is past the dense accumulator limit, so groups are hashed
+        List<AnalyticsGroup> byClientAndMonth = many.aggregate(NO_FILTER,
+                List.of(AnalyticsDimension.CLIENT, AnalyticsDimension.MONTH, AnalyticsDimension.OPERATOR),
+                List.of(AnalyticsMeasure.CLIENT_TARIFF), 10_000, pool);
+
+        // Assert
+        assertThat(byClientAndMonth).hasSize(expectedGroups.size());
+        assertThat(byClientAndMonth.stream().mapToLong(AnalyticsGroup::trips).sum()).isEqualTo(rows);
+        assertThat(byClientAndMonth.stream().map(group -> group.sums().get(AnalyticsMeasure.CLIENT_TARIFF))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)).isEqualByComparingTo(BigDecimal.valueOf(rows));
+    }
+
+    @Test
+    @DisplayName("should read back from a snapshot the same rows, codes and aggregates, and reject a truncated one")
+    void snapshot_ShouldRoundTrip(@TempDir Path directory) throws IOException {
+        // Arrange
+        columns.upsert(facts(5, 30L, LocalDate.of(2024, 12, 31), "Opérations Sud", 20_000));
+        columns.remove(2);
+        Path file = directory.resolve("columns.snapshot");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            columns.writeSnapshot(channel);
+        }
+
+        // Act
+        TransportLogColumns reopened;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            reopened = TransportLogColumns.readSnapshot(channel);
+        }
+        reopened.upsert(facts(6, 10L, LocalDate.of(2025, 3, 1), "Ops B", 1_000));
+        columns.upsert(facts(6, 10L, LocalDate.of(2025, 3, 1), "Ops B", 1_000));
+
+        // Assert
+        List<AnalyticsDimension> everything = List.of(AnalyticsDimension.CLIENT, AnalyticsDimension.DRIVER,
+                AnalyticsDimension.OPERATOR, AnalyticsDimension.COMMERCIAL, AnalyticsDimension.MONTH);
+        assertThat(reopened.size()).isEqualTo(5);
+        assertThat(reopened.maxId()).isEqualTo(6);
+        assertThat(reopened.rowOf(2)).isNegative();
+        assertThat(reopened.versionAt(reopened.rowOf(5))).isZero();
+        assertThat(reopened.aggregate(NO_FILTER, everything, TARIFF_AND_FUEL, 100, pool))
+                .isEqualTo(columns.aggregate(NO_FILTER, everything, TARIFF_AND_FUEL, 100, pool))
+                .hasSize(5);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThatThrownBy(() -> TransportLogColumns.readSnapshot(channel)).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should write a snapshot as it was when copied, whatever changed after the copy")
+    void snapshot_ShouldNotSeeLaterWrites(@TempDir Path directory) throws IOException {
+        // Arrange
+        int rowsWhenCopied = columns.size();
+        TransportLogColumns.Snapshot snapshot = columns.snapshot();
+        List<AnalyticsGroup> whenCopied = columns.aggregate(NO_FILTER, List.of(AnalyticsDimension.OPERATOR), TARIFF_AND_FUEL, 100, pool);
+        columns.upsert(facts(5, 30L, LocalDate.of(2024, 12, 31), "Ops C", 20_000));
+        columns.remove(1);
+
+        // Act
+        Path file = directory.resolve("columns.snapshot");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            snapshot.writeTo(channel);
+        }
+        TransportLogColumns reopened;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            reopened = TransportLogColumns.readSnapshot(channel);
+        }
+
+        // Assert
+        assertThat(reopened.size()).isEqualTo(rowsWhenCopied);
+        assertThat(reopened.rowOf(1)).isNotNegative();
+        assertThat(reopened.rowOf(5)).isNegative();
+        assertThat(reopened.aggregate(NO_FILTER, List.of(AnalyticsDimension.OPERATOR), TARIFF_AND_FUEL, 100, pool))
+                .isEqualTo(whenCopied);
+    }
+
+    private static TransportLogFacts facts(long id, Long clientId, LocalDate loadDate, String operator, long clientTariff) {
+        return facts(id, 0, clientId, loadDate, operator, clientTariff);
+    }
+
+    // 10.00 liters at 12.50 per liter
+    private static TransportLogFacts facts(long id, long version, Long clientId, LocalDate loadDate, String operator,
+                                           long clientTariff) {
+        return new TransportLogFacts(id, version, clientId, 1L, loadDate, operator, "Sales",
+                0, 1_000, 1_250, 0, 0, clientTariff, 0);
+    }
+}
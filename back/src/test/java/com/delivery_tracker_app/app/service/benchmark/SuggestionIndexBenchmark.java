@@ -0,0 +1,82 @@
+package com.delivery_tracker_app.app.service.benchmark;
+
+import com.delivery_tracker_app.app.dto.v1.transportLog.LocationSuggestion;
+import com.delivery_tracker_app.app.service.SuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups over 100k distinct locations with skewed usage counts.
+ * <p>
+ * Not part of the test run. After {@code mvn test-compile}, run {@link #main} from the IDE, or:
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.delivery_tracker_app.app.service.benchmark.SuggestionIndexBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionIndexBenchmark {
+
+    private static final String[] SYLLABLES = {"ta", "ne", "ka", "sa", "bla", "ma", "ra", "ke", "fe", "za",
+            "ou", "ja", "di", "ri", "mo", "ha", "ni", "el", "be", "go"};
+
+    @Param("100000")
+    private int locations;
+
+    // One letter matches a twentieth of the index, three letters a few hundred values
+    @Param({"t", "tan", "tanekabla"})
+    private String prefix;
+
+    private SuggestionIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<String, Integer> counts = new HashMap<>();
+        while (counts.size() < locations) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(4);
+            for (int i = 0; i < syllables; i++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            name.append(' ').append(random.nextInt(100));
+            // Zipf-like: a few locations are used all the time, most only a handful of times
+            counts.put(name.toString(), 1 + (int) (1000 / (1 + random.nextInt(1000))));
+        }
+        index = SuggestionIndex.of(counts);
+    }
+
+    @Benchmark
+    public List<LocationSuggestion> suggest() {
+        return index.suggest(prefix, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SuggestionIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,127 @@
+package com.delivery_tracker_app.app.service.benchmark;
+
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsDimension;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsGroup;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsMeasure;
+import com.delivery_tracker_app.app.dto.v1.analytics.AnalyticsQuery;
+import com.delivery_tracker_app.app.dto.v1.analytics.TransportLogFacts;
+import com.delivery_tracker_app.app.service.TransportLogColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-by scans over 10M transport logs spread over 500 clients, 200 drivers, 20 operators,
+ * 50 commercials and three years of load dates, and writing and reopening their snapshot file.
+ * <p>
+ * Not part of the test run. Needs about 3 GB of heap and 1 GB of temporary disk. After {@code mvn test-compile}, run
+ * {@link #main} from the IDE, or:
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.delivery_tracker_app.app.service.benchmark.TransportLogColumnsBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransportLogColumnsBenchmark {
+
+    private static final AnalyticsQuery NO_FILTER = new AnalyticsQuery(null, null, null, null, null, null, null, null);
+    private static final AnalyticsQuery ONE_YEAR = new AnalyticsQuery(null, null, null, null,
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), null, null);
+
+    @Param("10000000")
+    private int rows;
+
+    private TransportLogColumns columns;
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        columns = new TransportLogColumns(rows);
+        for (int i = 0; i < rows; i++) {
+            long tariff = 50_000 + random.nextInt(500_000);
+            columns.upsert(new TransportLogFacts(i, 0, (long) random.nextInt(500), (long) random.nextInt(200),
+                    start.plusDays(random.nextInt(3 * 365)), "Operator " + random.nextInt(20), "Commercial " + random.nextInt(50),
+                    random.nextInt(20_000), 10_000 + random.nextInt(40_000), 1_200 + random.nextInt(300),
+                    random.nextInt(5_000), random.nextInt(5_000), tariff, tariff * 7 / 10));
+        }
+        snapshot = Files.createTempFile("transport-log-columns-", ".snapshot");
+        writeSnapshot();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    // A single total over every row and every measure
+    @Benchmark
+    public List<AnalyticsGroup> total() {
+        return columns.aggregate(NO_FILTER, List.of(), List.of(AnalyticsMeasure.values()), 100_000, ForkJoinPool.commonPool());
+    }
+
+    // 20 x 12 groups within one year: dense accumulators
+    @Benchmark
+    public List<AnalyticsGroup> operatorByMonthForOneYear() {
+        return columns.aggregate(ONE_YEAR, List.of(AnalyticsDimension.OPERATOR, AnalyticsDimension.MONTH),
+                List.of(AnalyticsMeasure.CLIENT_TARIFF, AnalyticsMeasure.TRIP_PRICE), 100_000, ForkJoinPool.commonPool());
+    }
+
+    // 500 x 36 groups: hashed accumulators
+    @Benchmark
+    public List<AnalyticsGroup> clientByMonth() {
+        return columns.aggregate(NO_FILTER, List.of(AnalyticsDimension.CLIENT, AnalyticsDimension.MONTH),
+                List.of(AnalyticsMeasure.CLIENT_TARIFF, AnalyticsMeasure.TRIP_PRICE, AnalyticsMeasure.FUEL_COST),
+                100_000, ForkJoinPool.commonPool());
+    }
+
+    // What a warm start pays before catching up with the table
+    @Benchmark
+    public TransportLogColumns readSnapshot() throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            return TransportLogColumns.readSnapshot(channel);
+        }
+    }
+
+    // How long a periodic snapshot holds off writes; mostly in the page cache, not on disk
+    @Benchmark
+    public void writeSnapshot() throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            columns.writeSnapshot(channel);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TransportLogColumnsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,5 +1,7 @@
 package com.delivery_tracker_app.app.service.serviceimpl;
 
+import com.delivery_tracker_app.app.dto.v1.common.LookupItem;
+import com.delivery_tracker_app.app.dto.v1.common.LookupSnapshot;
 import com.delivery_tracker_app.app.dto.v1.common.PagedResponse;
 import com.delivery_tracker_app.app.dto.v1.driver.CreateDriverRequest;
 import com.delivery_tracker_app.app.dto.v1.driver.DriverResponse;
@@ -8,6 +10,7 @@ import com.delivery_tracker_app.app.entity.Driver;
 import com.delivery_tracker_app.app.exception.ResourceNotFoundException;
 import com.delivery_tracker_app.app.mapper.DriverMapper;
 import com.delivery_tracker_app.app.repository.DriverRepo;
+import com.delivery_tracker_app.app.service.EntityCounters;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +44,12 @@ class DriverServiceImplTest {
     @Mock
     private DriverMapper driverMapper;
 
+    @Mock
+    private EntityCounters entityCounters;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     // @InjectMocks injects the mocked dependencies into the tested class.
     @InjectMocks
     private DriverServiceImpl driverService;
@@ -58,7 +68,7 @@ class DriverServiceImplTest {
         savedDriver.setName("John Doe");
         savedDriver.setPlateNumber("A12345");
 
-        DriverResponse expectedResponse = new DriverResponse(1L, "John Doe", "A12345");
+        DriverResponse expectedResponse = new DriverResponse(1L, "John Doe", "A12345", 0L);
 
         // When the mapper's toEntity method is called with any CreateDriverRequest,
         // return the prepared driverEntity.
@@ -98,7 +108,7 @@ class DriverServiceImplTest {
         updatedDriver.setName("Jane Smith");
         updatedDriver.setPlateNumber("B67890");
 
-        DriverResponse expectedResponse = new DriverResponse(1L, "Jane Smith", "B67890");
+        DriverResponse expectedResponse = new DriverResponse(1L, "Jane Smith", "B67890", 0L);
 
         when(driverRepo.findById(1L)).thenReturn(Optional.of(existingDriver));
         when(driverRepo.save(any(Driver.class))).thenReturn(updatedDriver);
@@ -148,8 +158,8 @@ class DriverServiceImplTest {
         List<Driver> driverList = List.of(driver1, driver2);
         Page<Driver> driverPage = new PageImpl<>(driverList, pageable, driverList.size());
 
-        DriverResponse dto1 = new DriverResponse(1L, "Driver 1", "D001");
-        DriverResponse dto2 = new DriverResponse(2L, "Driver 2", "D002");
+        DriverResponse dto1 = new DriverResponse(1L, "Driver 1", "D001", 0L);
+        DriverResponse dto2 = new DriverResponse(2L, "Driver 2", "D002", 0L);
         List<DriverResponse> dtoList = List.of(dto1, dto2);
 
         when(driverRepo.findAll(pageable)).thenReturn(driverPage);
@@ -180,7 +190,7 @@ class DriverServiceImplTest {
         Long driverId = 1L;
         Driver driver = new Driver();
         driver.setId(driverId);
-        DriverResponse expectedResponse = new DriverResponse(driverId, "John Doe", "A12345");
+        DriverResponse expectedResponse = new DriverResponse(driverId, "John Doe", "A12345", 0L);
 
         when(driverRepo.findById(driverId)).thenReturn(Optional.of(driver));
         when(driverMapper.toDto(driver)).thenReturn(expectedResponse);
@@ -240,4 +250,28 @@ class DriverServiceImplTest {
         verify(driverRepo, times(1)).findById(driverId);
         verify(driverRepo, never()).deleteById(anyLong());
     }
+
+    @Test
+    @DisplayName("should serve the lookup snapshot from memory until a write invalidates it")
+    void getLookup_ShouldReuseSnapshotUntilWrite() {
+        // Arrange
+        when(driverRepo.findAllLookupItems()).thenReturn(
+                List.of(new LookupItem(1L, "John Doe (A12345)")),
+                List.of(new LookupItem(1L, "John Doe (A12345)"), new LookupItem(2L, "Jane Roe (B67890)")));
+        Driver savedDriver = Driver.builder().id(2L).name("Jane Roe").plateNumber("B67890").build();
+        when(driverMapper.toEntity(any(CreateDriverRequest.class))).thenReturn(new Driver());
+        when(driverRepo.save(any(Driver.class))).thenReturn(savedDriver);
+
+        // Act
+        LookupSnapshot first = driverService.getLookup();
+        LookupSnapshot repeat = driverService.getLookup();
+        driverService.create(new CreateDriverRequest("Jane Roe", "B67890"));
+        LookupSnapshot afterWrite = driverService.getLookup();
+
+        // Assert
+        assertSame(first, repeat);
+        assertEquals(2, afterWrite.items().size());
+        assertNotEquals(first.etag(), afterWrite.etag());
+        verify(driverRepo, times(2)).findAllLookupItems();
+    }
 }
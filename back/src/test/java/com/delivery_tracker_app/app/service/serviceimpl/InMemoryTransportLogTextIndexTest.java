@@ -0,0 +1,68 @@
+package com.delivery_tracker_app.app.service.serviceimpl;
+
+import com.delivery_tracker_app.app.config.SearchProperties;
+import com.delivery_tracker_app.app.dto.v1.transportLog.TransportLogTextDocument;
+import com.delivery_tracker_app.app.service.TransportLogTextIndex.Hits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory trigram index; no database is involved since
+ * documents are fed directly instead of being loaded from the table.
+ */
+class InMemoryTransportLogTextIndexTest {
+
+    private InMemoryTransportLogTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTransportLogTextIndex(null, new SyncTaskExecutor(), new SearchProperties());
+        index.upsert(List.of(
+                new TransportLogTextDocument(1L, "Casablanca", "Tanger Med", "Port", null),
+                new TransportLogTextDocument(2L, "Fès", "Casablanca", "Tanger Ville", "fragile"),
+                new TransportLogTextDocument(3L, "Agadir", "Marrakech", "Entrepôt", "livrer avant midi")
+        ));
+    }
+
+    @Test
+    @DisplayName("should rank destination matches above location matches and page the results")
+    void search_ShouldRankByFieldAndPage() {
+        // Act
+        Hits first = index.search("tanger", 0, 1);
+        Hits second = index.search("tanger", 1, 1);
+
+        // Assert
+        assertThat(first.total()).isEqualTo(2);
+        assertThat(first.ids()).containsExactly(2L);
+        assertThat(second.ids()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("should match partial words, typos and text without accents")
+    void search_ShouldTolerateAccentsPrefixesAndTypos() {
+        // Act / Assert
+        assertThat(index.search("entrepot", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("fes", 0, 10).ids()).containsExactly(2L);
+        assertThat(index.search("marrak", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("casblanca", 0, 10).ids()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("rabat", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reflect updated and removed documents")
+    void upsertAndRemove_ShouldReplacePostings() {
+        // Act
+        index.upsert(List.of(new TransportLogTextDocument(1L, "Casablanca", "Kenitra", "Depot", null)));
+        index.remove(List.of(2L));
+
+        // Assert
+        assertThat(index.search("tanger", 0, 10).total()).isZero();
+        assertThat(index.search("kenitra", 0, 10).ids()).containsExactly(1L);
+    }
+}
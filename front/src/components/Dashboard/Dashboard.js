@@ -22,7 +22,7 @@ import {
   Assignment as LogsIcon,
   TrendingUp as TrendingIcon
 } from '@mui/icons-material';
-import { clientsAPI, driversAPI, transportLogsAPI } from '../../services/api';
+import { dashboardAPI } from '../../services/api';
 import LoadingSpinner from '../Common/LoadingSpinner';
 
 const MetricCard = ({ title, value, icon, color = 'primary' }) => (
@@ -49,7 +49,8 @@ const Dashboard = () => {
   const [stats, setStats] = useState({
     totalClients: 0,
     totalDrivers: 0,
-    totalTransportLogs: 0
+    totalTransportLogs: 0,
+    monthRevenue: 0
   });
   const [recentLogs, setRecentLogs] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -62,19 +63,18 @@ const Dashboard = () => {
     try {
       setLoading(true);
       
-      const [clientsRes, driversRes, logsRes] = await Promise.all([
-        clientsAPI.getAll(0, 1),
-        driversAPI.getAll(0, 1),
-        transportLogsAPI.getAll(0, 5) // Only get 5 recent logs for simplicity
-      ]);
+      // One request returns the totals, this month's figures and the latest logs
+      const summaryRes = await dashboardAPI.getSummary(5);
+      const summary = summaryRes.data.data;
 
       setStats({
-        totalClients: clientsRes.data.data.totalElements,
-        totalDrivers: driversRes.data.data.totalElements,
-        totalTransportLogs: logsRes.data.data.totalElements
+        totalClients: summary.totalClients,
+        totalDrivers: summary.totalDrivers,
+        totalTransportLogs: summary.totalTransportLogs,
+        monthRevenue: summary.monthTotals.revenue
       });
 
-      setRecentLogs(logsRes.data.data.data);
+      setRecentLogs(summary.latestLogs);
     } catch (error) {
       console.error('Error fetching dashboard data:', error);
     } finally {
@@ -90,8 +90,6 @@ const Dashboard = () => {
     );
   }
 
-  const totalRevenue = recentLogs.reduce((sum, log) => sum + log.tripPrice, 0);
-
   return (
     <Box sx={{ p: 3 }}>
       {/* Header */}
@@ -132,8 +130,8 @@ const Dashboard = () => {
         </Grid>
         <Grid item xs={12} sm={6} md={3}>
           <MetricCard
-            title="Revenue"
-            value={`$${totalRevenue.toFixed(0)}`}
+            title="Revenue This Month"
+            value={`$${Number(stats.monthRevenue).toFixed(0)}`}
             icon={<TrendingIcon sx={{ fontSize: 28 }} />}
             color="success"
           />
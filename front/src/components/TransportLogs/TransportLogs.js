@@ -143,12 +143,12 @@ const TransportLogs = () => {
   const fetchInitialData = async () => {
     try {
       const [clientsRes, driversRes] = await Promise.all([
-        clientsAPI.getAll(0, 100),
-        driversAPI.getAll(0, 100)
+        clientsAPI.lookup(),
+        driversAPI.lookup()
       ]);
       
-      setClients(clientsRes.data.data.data || []);
-      setDrivers(driversRes.data.data.data || []);
+      setClients(clientsRes.data.data || []);
+      setDrivers(driversRes.data.data || []);
     } catch (error) {
       showNotification('Error fetching clients and drivers', 'error');
     }
@@ -442,7 +442,7 @@ const TransportLogs = () => {
             <Grid item xs={12} md={6}>
               <Autocomplete
                 options={clients}
-                getOptionLabel={(option) => option.name}
+                getOptionLabel={(option) => option.label}
                 value={clients.find(c => c.id === formData.clientId) || null}
                 onChange={(event, newValue) => handleFormChange('clientId', newValue?.id || null)}
                 renderInput={(params) => (
@@ -459,7 +459,7 @@ const TransportLogs = () => {
             <Grid item xs={12} md={6}>
               <Autocomplete
                 options={drivers}
-                getOptionLabel={(option) => `${option.name} (${option.plateNumber})`}
+                getOptionLabel={(option) => option.label}
                 value={drivers.find(d => d.id === formData.driverId) || null}
                 onChange={(event, newValue) => handleFormChange('driverId', newValue?.id || null)}
                 renderInput={(params) => (
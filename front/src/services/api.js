@@ -93,7 +93,10 @@ export const authAPI = {
 
 // Clients API
 export const clientsAPI = {
-  getAll: (page = 0, size = 10) => api.get(`/clients?page=${page}&size=${size}`),
+  getAll: (page = 0, size = 10, count = true) =>
+    api.get(`/clients?page=${page}&size=${size}${count ? '' : '&count=false'}`),
+  // Whole table as { id, label }; the browser revalidates it with the ETag and gets 304 while unchanged
+  lookup: () => api.get('/clients/lookup'),
   getById: (id) => api.get(`/clients/${id}`),
   create: (data) => api.post('/clients', data),
   update: (data) => api.put('/clients', data),
@@ -102,7 +105,10 @@ export const clientsAPI = {
 
 // Drivers API
 export const driversAPI = {
-  getAll: (page = 0, size = 10) => api.get(`/drivers?page=${page}&size=${size}`),
+  getAll: (page = 0, size = 10, count = true) =>
+    api.get(`/drivers?page=${page}&size=${size}${count ? '' : '&count=false'}`),
+  // Whole table as { id, label }; the browser revalidates it with the ETag and gets 304 while unchanged
+  lookup: () => api.get('/drivers/lookup'),
   getById: (id) => api.get(`/drivers/${id}`),
   create: (data) => api.post('/drivers', data),
   update: (data) => api.put('/drivers', data),
@@ -111,11 +117,18 @@ export const driversAPI = {
 
 // Transport Logs API
 export const transportLogsAPI = {
-  getAll: (page = 0, size = 10) => api.get(`/trans_logs?page=${page}&size=${size}`),
+  getAll: (page = 0, size = 10, count = true) =>
+    api.get(`/trans_logs?page=${page}&size=${size}${count ? '' : '&count=false'}`),
   getById: (id) => api.get(`/trans_logs/${id}`),
   create: (data) => api.post('/trans_logs', data),
   update: (data) => api.put('/trans_logs', data),
+  patch: (id, data) => api.patch(`/trans_logs/${id}`, data),
   delete: (id) => api.delete(`/trans_logs/${id}`),
 };
 
+// Dashboard API
+export const dashboardAPI = {
+  getSummary: (latest = 5) => api.get(`/dashboard/summary?latest=${latest}`),
+};
+
 export default api;
\ No newline at end of file